@@ -0,0 +1,74 @@
+package org.example.construconectaapisql.controller;
+
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.service.ProdutoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Aplicação do PATCH de produto (laço sobre o Map<String, Object> + validação do DataBinder),
+// chamando o controller real com um repositório em memória
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoPatchBenchmark {
+    private ProdutoController controller;
+    private LocalValidatorFactoryBean validator;
+    private Map<String, Object> updates;
+
+    @Setup
+    public void preparar() {
+        Produto produto = new Produto();
+        produto.setProdutoId(1L);
+        produto.setNomeProduto("Martelo de Construção Reforçado");
+        produto.setEstoque(100);
+        produto.setDescricao("Martelo de construção reforçado com cabo ergonômico.");
+        produto.setPreco(new BigDecimal("59.99"));
+        produto.setCondicao(true);
+        produto.setDesconto(BigDecimal.ZERO);
+        produto.setUsuario("TwbSHSFVasyefyw42SFJAIoQDjJA");
+        produto.setTopico(3);
+
+        // Repositório falso: findById devolve sempre o mesmo produto e save devolve o argumento
+        ProdutoRepository repositorio = (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(),
+                new Class<?>[]{ProdutoRepository.class},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "findById" -> Optional.of(produto);
+                    case "save" -> args[0];
+                    default -> null;
+                });
+
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        ProdutoService produtoService = new ProdutoService(repositorio, null, evento -> {});
+        // O feed só é usado pelo GET /product/feed, não pelo PATCH
+        controller = new ProdutoController(validator, produtoService, null, repositorio, null);
+
+        updates = new HashMap<>();
+        updates.put("nomeProduto", "Martelo de Construção Profissional");
+        updates.put("estoque", 80);
+        updates.put("descricao", "Martelo profissional com cabo de fibra e cabeça forjada.");
+        updates.put("preco", new BigDecimal("64.90"));
+        updates.put("desconto", new BigDecimal("0.10"));
+        updates.put("topico", 2);
+    }
+
+    @TearDown
+    public void encerrar() {
+        validator.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> aplicarPatch() {
+        return controller.updateProduct(1L, updates);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.Produto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Cálculo do valor total de uma linha do carrinho (cadeia de multiplicações BigDecimal)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CarrinhoPrecoBenchmark {
+    private Produto produto;
+    private Carrinho carrinho;
+
+    @Setup
+    public void preparar() {
+        produto = new Produto();
+        produto.setPreco(new BigDecimal("59.99"));
+        produto.setDesconto(new BigDecimal("0.15"));
+        produto.setImagem("https://exemplo.com/imagem_produto.jpg");
+
+        carrinho = new Carrinho();
+        carrinho.setQuantidade(7);
+    }
+
+    @Benchmark
+    public BigDecimal valorTotal() {
+        CarrinhoService.applyProductValues(carrinho, produto);
+        return carrinho.getValorTotal();
+    }
+}
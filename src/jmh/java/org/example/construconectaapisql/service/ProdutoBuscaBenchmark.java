@@ -0,0 +1,71 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Filtro de produtos por nome: varredura com normalização de cada nome (como fazia o antigo
+// normalizeString) contra o índice de trigramas do ProdutoNomeIndex
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoBuscaBenchmark {
+    private static final String[] PALAVRAS = {
+            "Martelo", "Cimento", "Tijolo", "Argamassa", "Azulejo", "Porcelanato", "Furadeira", "Parafuso",
+            "Tubo", "Conexão", "Registro", "Torneira", "Fio", "Disjuntor", "Tinta", "Verniz", "Lixa",
+            "Telha", "Calha", "Prego", "Elétrico", "Hidráulico", "Reforçado", "Profissional", "Médio"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"ci", "cimento", "conexao hidraulica"})
+    public String termo;
+
+    private List<String> nomes;
+    private ProdutoNomeIndex indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        nomes = new ArrayList<>(tamanho);
+        List<Object[]> linhas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            String nome = PALAVRAS[random.nextInt(PALAVRAS.length)] + " "
+                    + PALAVRAS[random.nextInt(PALAVRAS.length)] + " "
+                    + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + i;
+            nomes.add(nome);
+            linhas.add(new Object[]{(long) i, nome});
+        }
+
+        // Repositório falso: só findAllNomes é usado pelo índice
+        ProdutoRepository repositorio = (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(),
+                new Class<?>[]{ProdutoRepository.class},
+                (proxy, metodo, args) -> metodo.getName().equals("findAllNomes") ? linhas : null);
+        indice = new ProdutoNomeIndex(repositorio);
+        indice.carregar();
+    }
+
+    @Benchmark
+    public List<Long> varreduraLinear() {
+        String termoNormalizado = ProdutoNomeIndex.normalizar(termo);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            if (ProdutoNomeIndex.normalizar(nomes.get(i)).contains(termoNormalizado)) {
+                ids.add((long) i);
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Long> indiceTrigramas() {
+        return indice.buscarIds(termo);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.construconectaapisql.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.construconectaapisql.model.Categoria;
+import org.example.construconectaapisql.model.Produto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson de produtos com categorias, como nas respostas de listagem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoJsonBenchmark {
+    @Param({"1", "20", "500"})
+    public int quantidade;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Produto> produtos;
+
+    @Setup
+    public void preparar() {
+        Set<Categoria> categorias = new HashSet<>();
+        for (long c = 1; c <= 4; c++) {
+            Categoria categoria = new Categoria();
+            categoria.setCategoriaId(c);
+            categoria.setNome("Categoria " + c);
+            categorias.add(categoria);
+        }
+
+        produtos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            Produto produto = new Produto();
+            produto.setProdutoId(i);
+            produto.setNomeProduto("Martelo de Construção Reforçado " + i);
+            produto.setEstoque(100);
+            produto.setDescricao("Martelo de construção reforçado com cabo ergonômico.");
+            produto.setPreco(new BigDecimal("59.99"));
+            produto.setCondicao(true);
+            produto.setDesconto(new BigDecimal("0.30"));
+            produto.setImagem("https://exemplo.com/imagem_produto.jpg");
+            produto.setUsuario("TwbSHSFVasyefyw42SFJAIoQDjJA");
+            produto.setTopico(3);
+            produto.setCategorias(categorias);
+            produtos.add(produto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(produtos);
+    }
+}
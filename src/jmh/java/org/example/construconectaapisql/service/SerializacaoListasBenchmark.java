@@ -0,0 +1,125 @@
+package org.example.construconectaapisql.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.construconectaapisql.model.Categoria;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.model.Produto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Listas de 10 mil produtos e pedidos em JSON, CBOR e Smile, com e sem gzip (o que o Tomcat faz na resposta).
+// Antes de medir, imprime os bytes de cada formato, para comparar o tamanho no fio além do tempo:
+// mvn -Pjmh -DskipTests test-compile exec:exec -Djmh.args="SerializacaoListas"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializacaoListasBenchmark {
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"produto", "pedido"})
+    public String lista;
+
+    @Param({"10000"})
+    public int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<?> itens;
+
+    @Setup
+    public void preparar() throws IOException {
+        // Sem o contexto do Spring: o builder recebe à mão o que o JacksonAutoConfiguration muda
+        // (datas em ISO em vez de timestamps) e, como no FormatosBinariosConfig, só a factory muda por formato
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        objectMapper = switch (formato) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        itens = "pedido".equals(lista) ? pedidos() : produtos();
+
+        byte[] bytes = serializar();
+        System.out.printf("%n%s %s x%d: %d bytes, %d com gzip%n",
+                lista, formato, quantidade, bytes.length, gzip(bytes).length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return objectMapper.writeValueAsBytes(itens);
+    }
+
+    @Benchmark
+    public byte[] serializarGzip() throws IOException {
+        return gzip(serializar());
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bytes);
+        }
+        return saida.toByteArray();
+    }
+
+    private List<Produto> produtos() {
+        Set<Categoria> categorias = new HashSet<>();
+        for (long c = 1; c <= 4; c++) {
+            Categoria categoria = new Categoria();
+            categoria.setCategoriaId(c);
+            categoria.setNome("Categoria " + c);
+            categorias.add(categoria);
+        }
+
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            Produto produto = new Produto();
+            produto.setProdutoId(i);
+            produto.setNomeProduto("Martelo de Construção Reforçado " + i);
+            produto.setEstoque((int) (i % 500));
+            produto.setDescricao("Martelo de construção reforçado com cabo ergonômico.");
+            produto.setPreco(BigDecimal.valueOf(1000 + i % 9000, 2));
+            produto.setCondicao(i % 2 == 0);
+            produto.setDesconto(BigDecimal.valueOf(i % 50, 2));
+            produto.setImagem("https://exemplo.com/imagem_produto_" + i + ".jpg");
+            produto.setUsuario("TwbSHSFVasyefyw42SFJAIoQDjJA");
+            produto.setTopico((int) (i % 4) + 1);
+            produto.setCategorias(categorias);
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    private List<Pedido> pedidos() {
+        LocalDate hoje = LocalDate.of(2024, 9, 1);
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setPedidoId(i);
+            pedido.setUsuario("TwbSHSFVasyefyw42SFJAIoQDjJA");
+            pedido.setValorTotal(BigDecimal.valueOf(5000 + i % 100000, 2));
+            pedido.setValorFrete(BigDecimal.valueOf(i % 3000, 2));
+            pedido.setCupom(i % 5 == 0 ? "PROMO10" : null);
+            pedido.setValorDesconto(BigDecimal.valueOf(i % 1000, 2));
+            pedido.setDataPedido(hoje.minusDays(i % 365));
+            pedido.setDataEntrega(hoje.minusDays(i % 365).plusDays(7));
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.construconectaapisql.carga;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.construconectaapisql.ConstruConectaApiSqlApplication;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.service.Lote;
+import org.example.construconectaapisql.service.ProdutoService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Vazão de inserção de produtos antes e depois das sequences com incremento 50.
+//   antes:  um INSERT ... RETURNING por linha, como o Hibernate fazia com IDENTITY (sem lote possível);
+//           o id vem do DEFAULT da coluna, que usa a mesma produto_seq do Hibernate (V12)
+//   depois: ProdutoService.saveAllProducts, ids da sequence em bloco e inserts em lote
+//
+// Parâmetros (-D): carga.linhas (total medido, padrão 50000), carga.url, carga.rewrite
+// (reWriteBatchedInserts do driver, padrão true; rode com false para ver o ganho só do lote).
+//   mvn -Pcarga ... -Dcarga.classe=BenchmarkInsercao
+public class BenchmarkInsercao {
+    private static final String INSERT_UM_POR_UM = "INSERT INTO produto (nome_produto, estoque, descricao, preco, " +
+            "condicao, desconto, usuario_id, topico) VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING produto_id";
+
+    public static void main(String[] args) throws Exception {
+        int linhas = Integer.getInteger("carga.linhas", 50_000);
+        String url = System.getProperty("carga.url", "");
+        boolean rewrite = Boolean.parseBoolean(System.getProperty("carga.rewrite", "true"));
+
+        EmbeddedPostgres postgres = null;
+        if (url.isBlank()) {
+            postgres = EmbeddedPostgres.builder().setServerConfig("synchronous_commit", "off").start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        ConfigurableApplicationContext contexto = SpringApplication.run(ConstruConectaApiSqlApplication.class,
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("carga.usuario", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("carga.senha", "postgres"),
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + rewrite,
+                "--spring.main.web-application-type=none");
+        try {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            TransactionTemplate transacao = contexto.getBean(TransactionTemplate.class);
+            ProdutoService produtoService = contexto.getBean(ProdutoService.class);
+
+            // Aquecimento dos dois caminhos (JIT, pool, planos em cache)
+            inserirUmPorUm(jdbc, transacao, Lote.MAXIMO_ITENS * 5);
+            inserirEmLote(produtoService, Lote.MAXIMO_ITENS * 5);
+
+            long antes = inserirUmPorUm(jdbc, transacao, linhas);
+            long depois = inserirEmLote(produtoService, linhas);
+
+            System.out.printf("%nInserção de %,d produtos em transações de %,d (reWriteBatchedInserts=%s)%n",
+                    linhas, Lote.MAXIMO_ITENS, rewrite);
+            System.out.printf("  antes  (um INSERT por linha):  %,10.0f linhas/s%n", porSegundo(linhas, antes));
+            System.out.printf("  depois (sequence + lote):      %,10.0f linhas/s%n", porSegundo(linhas, depois));
+            System.out.printf("  ganho: %.1fx%n", (double) antes / depois);
+        } finally {
+            contexto.close();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static long inserirUmPorUm(JdbcTemplate jdbc, TransactionTemplate transacao, int linhas) {
+        long inicio = System.nanoTime();
+        for (int feitas = 0; feitas < linhas; feitas += Lote.MAXIMO_ITENS) {
+            List<Produto> lote = produtos(feitas, Math.min(Lote.MAXIMO_ITENS, linhas - feitas));
+            transacao.executeWithoutResult(status -> {
+                for (Produto produto : lote) {
+                    jdbc.query(con -> {
+                        PreparedStatement ps = con.prepareStatement(INSERT_UM_POR_UM);
+                        ps.setString(1, produto.getNomeProduto());
+                        ps.setInt(2, produto.getEstoque());
+                        ps.setString(3, produto.getDescricao());
+                        ps.setBigDecimal(4, produto.getPreco());
+                        ps.setBoolean(5, produto.getCondicao());
+                        ps.setBigDecimal(6, produto.getDesconto());
+                        ps.setString(7, produto.getUsuario());
+                        ps.setInt(8, produto.getTopico());
+                        return ps;
+                    }, rs -> {
+                        produto.setProdutoId(rs.getLong(1));
+                    });
+                }
+            });
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static long inserirEmLote(ProdutoService produtoService, int linhas) {
+        long inicio = System.nanoTime();
+        for (int feitas = 0; feitas < linhas; feitas += Lote.MAXIMO_ITENS) {
+            produtoService.saveAllProducts(produtos(feitas, Math.min(Lote.MAXIMO_ITENS, linhas - feitas)));
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static List<Produto> produtos(int inicio, int quantidade) {
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            Produto produto = new Produto();
+            produto.setNomeProduto("Produto de benchmark " + i);
+            produto.setEstoque(100);
+            produto.setDescricao("Produto inserido pelo benchmark de inserção.");
+            produto.setPreco(BigDecimal.valueOf(10 + i % 990));
+            produto.setCondicao(i % 2 == 0);
+            produto.setDesconto(BigDecimal.ZERO);
+            produto.setUsuario(Semeador.usuario(i % 1000));
+            produto.setTopico(1 + i % 4);
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    private static double porSegundo(int linhas, long nanos) {
+        return linhas / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.construconectaapisql.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Um histograma HdrHistogram (em microssegundos) por endpoint, mais a contagem de erros
+class Latencias {
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histogramas = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, long nanos, boolean sucesso) {
+        long micros = Math.min(MAXIMO_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        histogramas.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(MAXIMO_MICROS, 3)).recordValue(micros);
+        if (!sucesso) {
+            erros.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    void zerar() {
+        histogramas.values().forEach(Histogram::reset);
+        erros.clear();
+    }
+
+    void imprimir(PrintStream saida, double segundos) {
+        saida.printf("%n%-48s %10s %9s %8s %8s %8s %8s %8s %7s%n",
+                "endpoint", "requisições", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms", "erros");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histogramas).entrySet()) {
+            Histogram h = entry.getValue();
+            LongAdder falhas = erros.get(entry.getKey());
+            saida.printf("%-48s %10d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %7d%n",
+                    entry.getKey(), h.getTotalCount(), h.getTotalCount() / segundos,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), falhas == null ? 0 : falhas.sum());
+        }
+    }
+
+    // Grava a distribuição completa de cada endpoint em .hgrm (abre no HdrHistogram plotter)
+    void gravar(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        for (Map.Entry<String, Histogram> entry : histogramas.entrySet()) {
+            Path arquivo = diretorio.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo))) {
+                entry.getValue().outputPercentileDistribution(saida, 1000.0);
+            }
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
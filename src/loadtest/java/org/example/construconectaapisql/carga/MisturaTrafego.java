@@ -0,0 +1,99 @@
+package org.example.construconectaapisql.carga;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Mistura de tráfego: busca de produtos, carrinho, checkout e consulta de pagamentos.
+// Os pesos somam 100. O cenário "produtos-carrinho" restringe a /product/products e /shopping-cart/add;
+// o "sku-quente" só reserva uma unidade do mesmo produto (SKU_QUENTE), todas as threads na mesma linha.
+class MisturaTrafego {
+    static final long SKU_QUENTE = 1;
+
+    private final HttpClient cliente;
+    private final String base;
+    private final Semeador dados;
+    private final Latencias latencias;
+    private final String cenario;
+
+    MisturaTrafego(HttpClient cliente, String base, Semeador dados, Latencias latencias, String cenario) {
+        this.cliente = cliente;
+        this.base = base;
+        this.dados = dados;
+        this.latencias = latencias;
+        this.cenario = cenario;
+    }
+
+    // inicio: momento em que a requisição deveria sair; com taxa fixa inclui a espera na fila (coordinated omission)
+    void executarUma(long inicio) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String usuario = Semeador.usuario(1 + random.nextLong(dados.usuarios));
+        // Cenário "sku-quente": a vazão de POST /stock-reservation/reserve é a de reservas/s num único produto
+        if (cenario.equals("sku-quente")) {
+            post(inicio, "POST /stock-reservation/reserve", "/stock-reservation/reserve",
+                    "{\"usuario\":\"" + usuario + "\",\"produto\":" + SKU_QUENTE + ",\"quantidade\":1}");
+            return;
+        }
+        // Cenário "produtos-carrinho": só listagem de produtos e adição ao carrinho, metade cada
+        if (cenario.equals("produtos-carrinho")) {
+            if (random.nextBoolean()) {
+                get(inicio, "GET /product/products", "/product/products?size=20");
+            } else {
+                post(inicio, "POST /shopping-cart/add", "/shopping-cart/add",
+                        "{\"usuario\":\"" + usuario + "\",\"produto\":" + (1 + random.nextLong(dados.produtos)) + ",\"quantidade\":1}");
+            }
+            return;
+        }
+
+        int sorteio = random.nextInt(100);
+        if (sorteio < 30) {
+            String termo = URLEncoder.encode(Semeador.PALAVRAS[random.nextInt(Semeador.PALAVRAS.length)].toLowerCase(), StandardCharsets.UTF_8);
+            get(inicio, "GET /product/findByProduct/productName", "/product/findByProduct/productName/" + termo + "?size=20");
+        } else if (sorteio < 40) {
+            get(inicio, "GET /product/findByTopic", "/product/findByTopic/" + (1 + random.nextInt(4)) + "?size=20");
+        } else if (sorteio < 45) {
+            get(inicio, "GET /product/products (afterId)", "/product/products?size=20&afterId=" + random.nextLong(dados.produtos));
+        } else if (sorteio < 65) {
+            long produto = 1 + random.nextLong(dados.produtos);
+            post(inicio, "POST /shopping-cart/add", "/shopping-cart/add",
+                    "{\"usuario\":\"" + usuario + "\",\"produto\":" + produto + ",\"quantidade\":" + (1 + random.nextInt(3)) + "}");
+        } else if (sorteio < 75) {
+            get(inicio, "GET /shopping-cart/findByUserId", "/shopping-cart/findByUserId/" + usuario);
+        } else if (sorteio < 80) {
+            post(inicio, "POST /order/checkout", "/order/checkout?tipoPagamento=PIX",
+                    "{\"usuario\":\"" + usuario + "\",\"dataPedido\":\"2024-06-01\",\"dataEntrega\":\"2024-06-10\"}");
+        } else if (sorteio < 88) {
+            get(inicio, "GET /order/findByUserId", "/order/findByUserId/" + usuario);
+        } else {
+            get(inicio, "GET /product-payment/findByOrder", "/product-payment/findByOrder/" + (1 + random.nextLong(dados.pedidos)));
+        }
+    }
+
+    private void get(long inicio, String endpoint, String caminho) {
+        enviar(inicio, endpoint, HttpRequest.newBuilder(URI.create(base + caminho)).GET());
+    }
+
+    private void post(long inicio, String endpoint, String caminho, String json) {
+        enviar(inicio, endpoint, HttpRequest.newBuilder(URI.create(base + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private void enviar(long inicio, String endpoint, HttpRequest.Builder requisicao) {
+        boolean sucesso;
+        try {
+            HttpResponse<Void> resposta = cliente.send(requisicao.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            // 404 é uma resposta válida da API (ex.: usuário sem pedidos)
+            sucesso = resposta.statusCode() < 500;
+        } catch (Exception e) {
+            sucesso = false;
+        }
+        latencias.registrar(endpoint, System.nanoTime() - inicio, sucesso);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.construconectaapisql.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Popula o banco com volumes realistas usando INSERT ... SELECT generate_series,
+// bem mais rápido que passar pela API ou por inserts linha a linha
+class Semeador {
+    static final String[] PALAVRAS = {
+            "Martelo", "Cimento", "Tijolo", "Argamassa", "Azulejo", "Porcelanato", "Furadeira", "Parafuso",
+            "Tubo", "Conexão", "Registro", "Torneira", "Fio", "Disjuntor", "Tinta", "Verniz"
+    };
+
+    private final JdbcTemplate jdbc;
+    final long produtos;
+    final long carrinhos;
+    final long pedidos;
+    final long itensPedido;
+    final long usuarios;
+
+    Semeador(JdbcTemplate jdbc, double escala) {
+        this.jdbc = jdbc;
+        this.produtos = Math.max(100, Math.round(1_000_000 * escala));
+        this.carrinhos = Math.max(100, Math.round(5_000_000 * escala));
+        this.pedidos = Math.max(100, Math.round(2_000_000 * escala));
+        this.itensPedido = Math.max(100, Math.round(10_000_000 * escala));
+        this.usuarios = Math.max(10, Math.round(200_000 * escala));
+    }
+
+    // Mesmo formato gerado no SQL: 'u' + número, completado com zeros à esquerda até 28 caracteres
+    static String usuario(long numero) {
+        String base = "u" + numero;
+        return "0".repeat(28 - base.length()) + base;
+    }
+
+    void semear() {
+        String palavras = "ARRAY['" + String.join("','", PALAVRAS) + "']";
+        String usuarioSql = "lpad('u' || (%s)::text, 28, '0')";
+
+        executar("produto", "INSERT INTO produto (produto_id, nome_produto, estoque, descricao, preco, condicao, desconto, usuario_id, topico) " +
+                "SELECT g, " + palavras + "[1 + g % 16] || ' ' || " + palavras + "[1 + (g / 16) % 16] || ' ' || g, " +
+                "1000000, 'Produto gerado para o teste de carga.', round((5 + random() * 995)::numeric, 2), " +
+                "g % 3 <> 0, 0, " + usuarioSql.formatted("g % " + usuarios) + ", 1 + g % 4 " +
+                "FROM generate_series(1, " + produtos + ") g");
+
+        executar("carrinho", "INSERT INTO carrinho (carrinho_id, identificador, usuario_id, produto_id, quantidade, valor_total) " +
+                "SELECT g, 1 + g % " + usuarios + ", " + usuarioSql.formatted("1 + g % " + usuarios) + ", " +
+                "1 + (random() * (" + produtos + " - 1))::int, 1 + g % 5, round((5 + random() * 995)::numeric, 2) " +
+                "FROM generate_series(1, " + carrinhos + ") g");
+
+        executar("pedido", "INSERT INTO pedido (pedido_id, usuario_id, valor_total, valor_frete, valor_desconto, data_pedido, data_entrega) " +
+                "SELECT g, " + usuarioSql.formatted("g % " + usuarios) + ", round((10 + random() * 4990)::numeric, 2), 0, 0, " +
+                "DATE '2023-01-01' + (g % 700), DATE '2023-01-10' + (g % 700) " +
+                "FROM generate_series(1, " + pedidos + ") g");
+
+        executar("item_pedido", "INSERT INTO item_pedido (item_pedido_id, produto_id, pedido_id, quantidade, preco_unitario) " +
+                "SELECT g, 1 + (random() * (" + produtos + " - 1))::int, 1 + g % " + pedidos + ", 1 + g % 4, " +
+                "round((5 + random() * 995)::numeric, 2) " +
+                "FROM generate_series(1, " + itensPedido + ") g");
+
+        executar("pagamento_produto", "INSERT INTO pagamento_produto (pagamento_produto_id, pedido_id, usuario_id, data_pagamento, tipo_pagamento, valor_total, valor_frete) " +
+                "SELECT g, g, " + usuarioSql.formatted("g % " + usuarios) + ", DATE '2023-01-01' + (g % 700), " +
+                "(ARRAY['PIX','Cartão','Boleto'])[1 + g % 3], round((10 + random() * 4990)::numeric, 2), 0 " +
+                "FROM generate_series(1, " + pedidos + ") g");
+
+        // Ajusta as sequences para a API continuar depois dos ids semeados
+        jdbc.execute("SELECT setval('produto_seq', " + (produtos + 50) + ", false)");
+        jdbc.execute("SELECT setval('pedido_seq', " + (pedidos + 50) + ", false)");
+        jdbc.execute("SELECT setval('pagamento_produto_seq', " + (pedidos + 50) + ", false)");
+        jdbc.execute("SELECT setval('carrinho_seq', " + (carrinhos + 50) + ", false)");
+        jdbc.execute("SELECT setval('item_pedido_seq', " + (itensPedido + 50) + ", false)");
+        jdbc.execute("SELECT setval('carrinho_identificador_seq', " + (usuarios + 1) + ", false)");
+
+        long inicio = System.nanoTime();
+        jdbc.execute("ANALYZE");
+        System.out.printf("ANALYZE em %.1fs%n", (System.nanoTime() - inicio) / 1e9);
+    }
+
+    private void executar(String tabela, String sql) {
+        long inicio = System.nanoTime();
+        int linhas = jdbc.update(sql);
+        System.out.printf("%-18s %,12d linhas em %.1fs%n", tabela, linhas, (System.nanoTime() - inicio) / 1e9);
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.construconectaapisql.carga;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.construconectaapisql.ConstruConectaApiSqlApplication;
+import org.example.construconectaapisql.service.ProdutoNomeIndex;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Sobe a API contra um PostgreSQL local (embutido, ou carga.url), semeia os dados e
+// reproduz a mistura de tráfego, imprimindo p50/p90/p99 por endpoint.
+//
+// Parâmetros (-D):
+//   carga.escala                 fração do volume completo (1.0 = 1M produtos, 5M carrinhos, 2M pedidos, 10M itens)
+//   carga.threads                usuários virtuais simultâneos
+//   carga.aquecimento-segundos   tempo descartado antes da medição
+//   carga.duracao-segundos       tempo medido
+//   carga.taxa                   requisições/s no total; 0 = laço fechado (cada thread dispara assim que recebe a resposta)
+//   carga.url                    JDBC de um PostgreSQL já existente (precisa das extensões unaccent e pg_trgm)
+//   carga.cenario                "mista" (padrão), "produtos-carrinho" ou "sku-quente"
+//   carga.perfis                 perfis Spring da API, ex.: virtual-threads
+//   carga.pool                   tamanho do pool Hikari (o mesmo nos dois modos, para a comparação ser justa)
+//
+// Comparação de virtual threads (Java 21), 5 mil conexões simultâneas:
+//   mvn -Pcarga ... -Dcarga.threads=5000 -Dcarga.cenario=produtos-carrinho
+//   mvn -Pcarga ... -Dcarga.threads=5000 -Dcarga.cenario=produtos-carrinho -Dcarga.perfis=virtual-threads
+//
+// Reservas/s num SKU quente, 64 threads disputando a mesma linha de Produto:
+//   mvn -Pcarga ... -Dcarga.threads=64 -Dcarga.cenario=sku-quente
+public class TesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        double escala = Double.parseDouble(System.getProperty("carga.escala", "1.0"));
+        int threads = Integer.getInteger("carga.threads", 32);
+        int aquecimento = Integer.getInteger("carga.aquecimento-segundos", 30);
+        int duracao = Integer.getInteger("carga.duracao-segundos", 120);
+        double taxa = Double.parseDouble(System.getProperty("carga.taxa", "0"));
+        String url = System.getProperty("carga.url", "");
+        String cenario = System.getProperty("carga.cenario", "mista");
+        String perfis = System.getProperty("carga.perfis", "");
+        int pool = Integer.getInteger("carga.pool", 20);
+
+        EmbeddedPostgres postgres = null;
+        String usuarioBanco = System.getProperty("carga.usuario", "postgres");
+        String senhaBanco = System.getProperty("carga.senha", "postgres");
+        if (url.isBlank()) {
+            postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("shared_buffers", "512MB")
+                    .setServerConfig("max_connections", "200")
+                    .setServerConfig("synchronous_commit", "off")
+                    .start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        ConfigurableApplicationContext contexto = SpringApplication.run(ConstruConectaApiSqlApplication.class,
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + usuarioBanco,
+                "--spring.datasource.password=" + senhaBanco,
+                "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                "--spring.profiles.active=" + perfis,
+                "--server.port=0");
+        try {
+            Semeador semeador = new Semeador(contexto.getBean(JdbcTemplate.class), escala);
+            System.out.println("Semeando o banco (escala " + escala + ")...");
+            semeador.semear();
+            if (cenario.equals("sku-quente")) {
+                // Estoque que não acaba durante a medição: toda reserva disputa a linha, nenhuma é recusada
+                contexto.getBean(JdbcTemplate.class).update("UPDATE produto SET estoque = ? WHERE produto_id = ?",
+                        Integer.MAX_VALUE, MisturaTrafego.SKU_QUENTE);
+            }
+            // O índice de nomes foi carregado na subida, antes da semeadura
+            contexto.getBean(ProdutoNomeIndex.class).carregar();
+
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            HttpClient cliente = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(threads))
+                    .build();
+            Latencias latencias = new Latencias();
+            MisturaTrafego mistura = new MisturaTrafego(cliente, base, semeador, latencias, cenario);
+
+            System.out.println("Aquecendo por " + aquecimento + "s...");
+            rodar(mistura, threads, taxa, aquecimento);
+            latencias.zerar();
+
+            System.out.println("Medindo por " + duracao + "s com " + threads + " threads (cenário " + cenario
+                    + ", perfis [" + perfis + "], Java " + Runtime.version().feature() + ")...");
+            rodar(mistura, threads, taxa, duracao);
+
+            latencias.imprimir(System.out, duracao);
+            Path diretorio = Path.of("target", "carga");
+            latencias.gravar(diretorio);
+            System.out.println("\nHistogramas completos em " + diretorio.toAbsolutePath());
+        } finally {
+            contexto.close();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static void rodar(MisturaTrafego mistura, int threads, double taxa, int segundos) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        // Com taxa fixa cada thread segue a própria agenda, então atrasos do servidor não reduzem a carga
+        long intervalo = taxa > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * threads / taxa) : 0;
+
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(executor.submit(() -> {
+                long proxima = System.nanoTime();
+                while (System.nanoTime() < fim) {
+                    if (intervalo > 0) {
+                        LockSupport.parkNanos(proxima - System.nanoTime());
+                        mistura.executarUma(proxima);
+                        proxima += intervalo;
+                    } else {
+                        mistura.executarUma(System.nanoTime());
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+    }
+}
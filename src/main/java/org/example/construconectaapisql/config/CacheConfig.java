@@ -0,0 +1,38 @@
+package org.example.construconectaapisql.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+// Os @CacheEvict dos services rodam dentro do @Transactional, em ordem não definida em relação ao commit.
+// Com o proxy, o evict (e o put) dentro de uma transação só acontece depois do commit; fora dela, na hora.
+// Sem isso, uma leitura concorrente podia recolocar a linha antiga no cache por até 10 minutos.
+// O CaffeineCacheManager é montado aqui com o mesmo spring.cache.* que o Boot usaria.
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    @Bean
+    public CaffeineCacheManager caffeineCacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    @Primary
+    public CacheManager cacheManager(CaffeineCacheManager caffeineCacheManager) {
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.construconectaapisql.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// CBOR e Smile para os consumidores internos: quem manda Accept: application/cbor ou
+// application/x-jackson-smile recebe binário, o resto continua em JSON (que vem antes na negociação).
+// Os mappers saem do builder do Boot (um novo a cada injeção) trocando só a factory, então datas,
+// módulos e spring.jackson.* valem igual. builder.cbor()/smile() são estáticos e ignorariam tudo isso.
+@Configuration
+public class FormatosBinariosConfig {
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.construconectaapisql.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tags de entidade e operação nas métricas de endpoints (http.server.requests) e de
+// repositórios (spring.data.repository.invocations), para somar o tempo de banco por entidade
+@Configuration
+public class MetricasConfig {
+    private static final String ENTIDADE = "entidade";
+    private static final String OPERACAO = "operacao";
+
+    @Bean
+    public ServerRequestObservationConvention requisicaoPorEntidade() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                KeyValues valores = super.getLowCardinalityKeyValues(context);
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                if (handler instanceof HandlerMethod metodo) {
+                    // ProdutoController -> Produto
+                    String entidade = metodo.getBeanType().getSimpleName().replace("Controller", "");
+                    return valores.and(ENTIDADE, entidade).and(OPERACAO, metodo.getMethod().getName());
+                }
+                return valores.and(ENTIDADE, "none").and(OPERACAO, "none");
+            }
+        };
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositorioPorEntidade() {
+        DefaultRepositoryTagsProvider padrao = new DefaultRepositoryTagsProvider();
+        Map<Class<?>, String> entidades = new ConcurrentHashMap<>();
+        return invocation -> {
+            // ProdutoRepository -> Produto (tipo de domínio do repositório); a tag method já é a operação
+            String entidade = entidades.computeIfAbsent(invocation.getRepositoryInterface(), MetricasConfig::entidadeDoRepositorio);
+            return Tags.of(padrao.repositoryTags(invocation)).and(Tag.of(ENTIDADE, entidade));
+        };
+    }
+
+    private static String entidadeDoRepositorio(Class<?> repositorio) {
+        Class<?> dominio = ResolvableType.forClass(repositorio).as(Repository.class).getGeneric(0).resolve();
+        return dominio != null ? dominio.getSimpleName() : repositorio.getSimpleName();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.construconectaapisql.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Confere na subida se os índices declarados nas entidades (@Table/@JoinTable indexes) existem no banco,
+// válidos e com as mesmas colunas. O schema vem das migrations do Flyway; isto pega a migration esquecida
+// ou um CREATE INDEX CONCURRENTLY que falhou no meio e deixou o índice inválido.
+@Component
+public class VerificadorIndices implements ApplicationRunner {
+    private static final String SQL_INDICES =
+            "SELECT ic.relname AS indice, string_agg(a.attname, ',' ORDER BY k.ordem) AS colunas " +
+            "FROM pg_index x " +
+            "JOIN pg_class ic ON ic.oid = x.indexrelid " +
+            "JOIN pg_namespace n ON n.oid = ic.relnamespace " +
+            "CROSS JOIN LATERAL unnest(x.indkey) WITH ORDINALITY AS k(attnum, ordem) " +
+            "JOIN pg_attribute a ON a.attrelid = x.indrelid AND a.attnum = k.attnum " +
+            "WHERE n.nspname = current_schema() AND x.indisvalid " +
+            "GROUP BY ic.relname";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean ativo;
+
+    public VerificadorIndices(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            @Value("${construconecta.indices.verificar:true}") boolean ativo
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ativo = ativo;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!ativo) {
+            return;
+        }
+
+        Map<String, String> existentes = new HashMap<>();
+        jdbcTemplate.query(SQL_INDICES, rs -> {
+            existentes.put(rs.getString("indice"), rs.getString("colunas"));
+        });
+
+        List<String> problemas = new ArrayList<>();
+        for (Map.Entry<String, String> esperado : indicesDeclarados().entrySet()) {
+            String colunas = existentes.get(esperado.getKey());
+            if (colunas == null) {
+                problemas.add(esperado.getKey() + " (" + esperado.getValue() + ") não existe ou está inválido");
+            } else if (!colunas.equals(esperado.getValue())) {
+                problemas.add(esperado.getKey() + " tem as colunas (" + colunas + "), esperado (" + esperado.getValue() + ")");
+            }
+        }
+
+        if (!problemas.isEmpty()) {
+            throw new IllegalStateException("Índices ausentes ou divergentes no banco: "
+                    + String.join("; ", problemas) + ". Confira as migrations em db/migration.");
+        }
+    }
+
+    // Nome do índice -> colunas na ordem declarada, lidos das entidades mapeadas
+    Map<String, String> indicesDeclarados() {
+        Map<String, String> indices = new TreeMap<>();
+        for (EntityType<?> entidade : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> tipo = entidade.getJavaType();
+            Table table = tipo.getAnnotation(Table.class);
+            if (table != null) {
+                adicionar(indices, table.indexes());
+            }
+            for (Field campo : tipo.getDeclaredFields()) {
+                JoinTable joinTable = campo.getAnnotation(JoinTable.class);
+                if (joinTable != null) {
+                    adicionar(indices, joinTable.indexes());
+                }
+            }
+        }
+        return indices;
+    }
+
+    private static void adicionar(Map<String, String> indices, Index[] declarados) {
+        for (Index index : declarados) {
+            String colunas = Arrays.stream(index.columnList().split(","))
+                    .map(coluna -> coluna.trim().toLowerCase())
+                    .collect(Collectors.joining(","));
+            indices.put(index.name().toLowerCase(), colunas);
+        }
+    }
+}
@@ -8,9 +8,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Carrinho;
 import org.example.construconectaapisql.service.CarrinhoService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -38,7 +42,7 @@ public class CarrinhoController {
     }
 
     @GetMapping("/shopping-carts")
-    @Operation(summary = "Show all shopping carts", description = "Returns a list of all available shopping carts")
+    @Operation(summary = "Show all shopping carts", description = "Returns a page of all available shopping carts. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -49,8 +53,11 @@ public class CarrinhoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Carrinho> findAllShoppingCarts() {
-        return carrinhoService.findAllShoppingCarts();
+    public Slice<Carrinho> findAllShoppingCarts(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "carrinhoId") Pageable pageable
+    ) {
+        return carrinhoService.findAllShoppingCarts(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -89,6 +96,35 @@ public class CarrinhoController {
         }
     }
 
+    @PostMapping("/addAll/{userId}")
+    @Operation(summary = "Add many items to a user's shopping cart", description = "Adds or updates several items (produto, quantidade) in the shopping cart of the specified userId in a single transaction. Items for a product already in the cart replace its quantity")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Shopping Cart items saved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Carrinho.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "409", description = "Product not found or data integrity violation",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> addShoppingCartItems(@PathVariable String userId, @RequestBody List<Carrinho> itens) {
+        try {
+            List<Carrinho> savedItens = carrinhoService.saveShoppingCartItems(userId, itens);
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedItens);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro ao adicionar itens ao carrinho: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/{shoppingCartId}")
     @Operation(summary = "Delete a shopping cart", description = "Deletes the shopping cart with the specified shoppingCartId")
     @ApiResponses(value = {
@@ -252,8 +288,9 @@ public class CarrinhoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUserId(@PathVariable String userId) {
-        List<Carrinho> lCarrinho = carrinhoService.findByUserId(userId);
+    public ResponseEntity<?> searchByUserId(@PathVariable String userId,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "carrinhoId") Pageable pageable) {
+        List<Carrinho> lCarrinho = carrinhoService.findByUserId(userId, pageable);
         if (!lCarrinho.isEmpty()) {
             return ResponseEntity.ok(lCarrinho);
         } else {
@@ -271,8 +308,9 @@ public class CarrinhoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByIdentifier(@PathVariable Integer identifier) {
-        List<Carrinho> lCarrinho = carrinhoService.findByIdentifier(identifier);
+    public ResponseEntity<?> searchByIdentifier(@PathVariable Integer identifier,
+                                                @ParameterObject @PageableDefault(size = 50, sort = "carrinhoId") Pageable pageable) {
+        List<Carrinho> lCarrinho = carrinhoService.findByIdentifier(identifier, pageable);
         if (!lCarrinho.isEmpty()) {
             return ResponseEntity.ok(lCarrinho);
         } else {
@@ -290,8 +328,9 @@ public class CarrinhoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByProductId(@PathVariable Integer productId) {
-        List<Carrinho> lCarrinho = carrinhoService.findByProductId(productId);
+    public ResponseEntity<?> searchByProductId(@PathVariable Integer productId,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "carrinhoId") Pageable pageable) {
+        List<Carrinho> lCarrinho = carrinhoService.findByProductId(productId, pageable);
         if (!lCarrinho.isEmpty()) {
             return ResponseEntity.ok(lCarrinho);
         } else {
@@ -8,9 +8,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Categoria;
 import org.example.construconectaapisql.service.CategoriaService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -18,6 +23,7 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -39,7 +45,7 @@ public class CategoriaController {
     }
 
     @GetMapping("/categories")
-    @Operation(summary = "Show all categories", description = "Returns a list of all available categories")
+    @Operation(summary = "Show all categories", description = "Returns a page of all available categories. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -47,11 +53,20 @@ public class CategoriaController {
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = Categoria.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag (If-None-Match)"),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Categoria> findAllCategories() {
-        return categoriaService.findAllCategories();
+    public Slice<Categoria> findAllCategories(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "categoriaId") Pageable pageable,
+            WebRequest request
+    ) {
+        // O ETag vem da marca d'água da tabela; com If-None-Match igual a página nem é buscada
+        if (request.checkNotModified(categoriaService.findCategoriesEtag())) {
+            return null;
+        }
+        return categoriaService.findAllCategories(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -150,7 +165,7 @@ public class CategoriaController {
     public ResponseEntity<?> updateCategory(@Valid @PathVariable Long categoryId,
                                             @RequestBody Map<String, Object> updates) {
         try {
-            Categoria categoria = categoriaService.findCategoriesById(categoryId);
+            Categoria categoria = categoriaService.findCategoriesByIdForUpdate(categoryId);
             if (categoria == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Categoria não encontrada.");
             }
@@ -181,6 +196,9 @@ public class CategoriaController {
             } else {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: " + e.getMessage());
             }
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição alterou o registro entre a leitura e o save (@Version)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição. Busque-o novamente e repita a alteração.");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao acessar o banco de dados: \n" + e.getMessage());
@@ -222,8 +240,9 @@ public class CategoriaController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nome) {
-        List<Categoria> lCategoria = categoriaService.findByNome(nome);
+    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nome,
+                                                  @ParameterObject @PageableDefault(size = 50, sort = "categoriaId") Pageable pageable) {
+        List<Categoria> lCategoria = categoriaService.findByNome(nome, pageable);
         if (!lCategoria.isEmpty()) {
             return ResponseEntity.ok(lCategoria);
         } else {
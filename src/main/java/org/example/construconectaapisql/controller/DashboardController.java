@@ -0,0 +1,65 @@
+package org.example.construconectaapisql.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.example.construconectaapisql.service.DashboardService;
+import org.example.construconectaapisql.service.TempoEsgotadoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @Autowired
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping("/findByUserId/{userId}")
+    @Operation(summary = "Find the home screen data of a user",
+            description = "Returns, in a single response, the user, addresses, shopping carts, orders, plans, products, " +
+                    "services and plan payments of the user. The sections are loaded in parallel; use fields to pick only some of them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard found",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Unknown section or invalid limit",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "504", description = "The sections took too long to load, or the dashboard queue is full",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> findDashboardByUserId(
+            @PathVariable String userId,
+            @Parameter(description = "Sections to return: usuario, enderecos, carrinhos, pedidos, planos, produtos, servicos, pagamentosPlano. All when omitted")
+            @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "Maximum number of items in each list section")
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(dashboardService.findDashboard(userId, fields, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (TempoEsgotadoException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
@@ -8,9 +8,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.EnderecoUsuario;
 import org.example.construconectaapisql.service.EnderecoUsuarioService;
+import org.example.construconectaapisql.service.Lote;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -41,7 +47,7 @@ public class EnderecoUsuarioController {
     }
 
     @GetMapping("/addresses")
-    @Operation(summary = "Show all addresses", description = "Returns a list of all available addresses")
+    @Operation(summary = "Show all addresses", description = "Returns a page of all available addresses. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -52,8 +58,11 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<EnderecoUsuario> findAllAddress() {
-        return this.enderecoUsuarioService.findAllAddress();
+    public Slice<EnderecoUsuario> findAllAddress(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "enderecoUsuarioId") Pageable pageable
+    ) {
+        return enderecoUsuarioService.findAllAddress(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -98,6 +107,46 @@ public class EnderecoUsuarioController {
         }
     }
 
+    @PostMapping("/addAll")
+    @Operation(summary = "Add many addresses", description = "Creates several addresses in a single transaction, inserting them in JDBC batches. At most " + Lote.MAXIMO_ITENS + " items per request; validation errors are keyed by the item position")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Addresses created successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = EnderecoUsuario.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, empty list or too many items",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "Data integrity violation",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> addAddresses(@RequestBody List<EnderecoUsuario> addresses) {
+        try {
+            Lote.validar(addresses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        }
+
+        Map<String, String> errors = validateAll(addresses);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        }
+
+        try {
+            List<EnderecoUsuario> saved = enderecoUsuarioService.saveAllAddresses(addresses);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: \n" + e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao adicionar endereços: \n" + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/{addresId}")
     @Operation(summary = "Delete a address", description = "Deletes the address with the specified addresId")
     @ApiResponses(value = {
@@ -227,8 +276,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByCep(@PathVariable String cep) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByCep(cep);
+    public ResponseEntity<?> searchByCep(@PathVariable String cep,
+                                         @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByCep(cep, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -246,8 +296,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByCidade(@PathVariable String cidade) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByCidade(cidade);
+    public ResponseEntity<?> searchByCidade(@PathVariable String cidade,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByCidade(cidade, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -265,8 +316,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUf(@PathVariable String uf) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByUf(uf);
+    public ResponseEntity<?> searchByUf(@PathVariable String uf,
+                                        @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByUf(uf, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -284,8 +336,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByBairro(@PathVariable String bairro) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByBairro(bairro);
+    public ResponseEntity<?> searchByBairro(@PathVariable String bairro,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByBairro(bairro, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -303,8 +356,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByRua(@PathVariable String rua) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByRua(rua);
+    public ResponseEntity<?> searchByRua(@PathVariable String rua,
+                                         @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByRua(rua, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -322,8 +376,9 @@ public class EnderecoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUsuario(@PathVariable String usuario) {
-        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByUserId(usuario);
+    public ResponseEntity<?> searchByUsuario(@PathVariable String usuario,
+                                             @ParameterObject @PageableDefault(size = 50, sort = "enderecoUsuarioId") Pageable pageable) {
+        List<EnderecoUsuario> lAddress = enderecoUsuarioService.findByUserId(usuario, pageable);
         if (!lAddress.isEmpty()) {
             return ResponseEntity.ok(lAddress);
         } else {
@@ -331,6 +386,20 @@ public class EnderecoUsuarioController {
         }
     }
 
+    // Valida cada item da lista; as chaves indicam a posição do item (ex.: "[2].preco")
+    public Map<String, String> validateAll(List<?> itens) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            DataBinder binder = new DataBinder(itens.get(i));
+            binder.setValidator(validator);
+            binder.validate();
+            for (FieldError error : binder.getBindingResult().getFieldErrors()) {
+                errors.put("[" + i + "]." + error.getField(), error.getDefaultMessage());
+            }
+        }
+        return errors;
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
@@ -7,18 +7,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.ItemPedido;
+import org.example.construconectaapisql.service.FormatoExportacao;
 import org.example.construconectaapisql.service.ItemPedidoService;
+import org.example.construconectaapisql.service.Lote;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,7 +46,7 @@ public class ItemPedidoController {
     }
 
     @GetMapping("/orderItems")
-    @Operation(summary = "Show all orderItems", description = "Returns a list of all available orderItems")
+    @Operation(summary = "Show all orderItems", description = "Returns a page of all available orderItems. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -49,8 +57,30 @@ public class ItemPedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<ItemPedido> findAllOrderItems() {
-        return itemPedidoService.findAllOrderItems();
+    public Slice<ItemPedido> findAllOrderItems(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "itemPedidoId") Pageable pageable
+    ) {
+        return itemPedidoService.findAllOrderItems(afterId, pageable);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all orderItems", description = "Streams every orderItem ordered by id as NDJSON (one JSON object per line) or CSV, writing rows as they are read instead of loading the whole table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Invalid format",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> exportOrderItems(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao formatoExportacao = FormatoExportacao.from(formato);
+            return ResponseEntity.ok()
+                    .contentType(formatoExportacao.getMediaType())
+                    .body(itemPedidoService.exportOrderItems(formatoExportacao));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PostMapping("/add")
@@ -98,6 +128,46 @@ public class ItemPedidoController {
         }
     }
 
+    @PostMapping("/addAll")
+    @Operation(summary = "Add many order items", description = "Creates several order items in a single transaction, inserting them in JDBC batches. At most " + Lote.MAXIMO_ITENS + " items per request; validation errors are keyed by the item position")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Order Items created successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ItemPedido.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, empty list or too many items",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "Data integrity violation",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> addOrderItems(@RequestBody List<ItemPedido> orderItems) {
+        try {
+            Lote.validar(orderItems);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        }
+
+        Map<String, String> errors = validateAll(orderItems);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        }
+
+        try {
+            List<ItemPedido> saved = itemPedidoService.saveAllOrderItems(orderItems);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: \n" + e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao adicionar itens do pedido: \n" + e.getMessage());
+        }
+    }
+
     @GetMapping("/findOrderItem/{orderId}")
     @Operation(summary = "Find order item by orderId", description = "Returns the order item with the specified orderId")
     @ApiResponses(value = {
@@ -161,8 +231,9 @@ public class ItemPedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByProduct(@PathVariable Integer productId) {
-        List<ItemPedido> lOrderItem = itemPedidoService.findByProduct(productId);
+    public ResponseEntity<?> searchByProduct(@PathVariable Integer productId,
+                                             @ParameterObject @PageableDefault(size = 50, sort = "itemPedidoId") Pageable pageable) {
+        List<ItemPedido> lOrderItem = itemPedidoService.findByProduct(productId, pageable);
         if (!lOrderItem.isEmpty()) {
             return ResponseEntity.ok(lOrderItem);
         } else {
@@ -180,8 +251,9 @@ public class ItemPedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByOrder(@PathVariable Integer orderId) {
-        List<ItemPedido> lOrderItem = itemPedidoService.findByOrder(orderId);
+    public ResponseEntity<?> searchByOrder(@PathVariable Integer orderId,
+                                           @ParameterObject @PageableDefault(size = 50, sort = "itemPedidoId") Pageable pageable) {
+        List<ItemPedido> lOrderItem = itemPedidoService.findByOrder(orderId, pageable);
         if (!lOrderItem.isEmpty()) {
             return ResponseEntity.ok(lOrderItem);
         } else {
@@ -189,6 +261,20 @@ public class ItemPedidoController {
         }
     }
 
+    // Valida cada item da lista; as chaves indicam a posição do item (ex.: "[2].preco")
+    public Map<String, String> validateAll(List<?> itens) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            DataBinder binder = new DataBinder(itens.get(i));
+            binder.setValidator(validator);
+            binder.validate();
+            for (FieldError error : binder.getBindingResult().getFieldErrors()) {
+                errors.put("[" + i + "]." + error.getField(), error.getDefaultMessage());
+            }
+        }
+        return errors;
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
@@ -8,9 +8,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.PagamentoPlano;
 import org.example.construconectaapisql.service.PagamentoPlanoService;
+import org.example.construconectaapisql.service.Periodo;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +26,8 @@ import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -35,7 +43,7 @@ public class PagamentoPlanoController {
     }
 
     @GetMapping("/payments-plan")
-    @Operation(summary = "Show all payments plan", description = "Returns a list of all available payments plan")
+    @Operation(summary = "Show all payments plan", description = "Returns a page of all available payments plan. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -46,8 +54,11 @@ public class PagamentoPlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<PagamentoPlano> findAllPaymentsPlan() {
-        return pagamentoPlanoService.findAllPaymentsPlan();
+    public Slice<PagamentoPlano> findAllPaymentsPlan(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "pagamentoPlanoId") Pageable pageable
+    ) {
+        return pagamentoPlanoService.findAllPaymentsPlan(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -161,7 +172,7 @@ public class PagamentoPlanoController {
                         pagamentoPlano.setTipoPagamento((String) entry.getValue());
                         break;
                     case "dataPagamento":
-                        pagamentoPlano.setDataPagamento((String) entry.getValue());
+                        pagamentoPlano.setDataPagamento(Periodo.parse(field, entry.getValue()));
                         break;
                     default:
                         // Este default nunca será alcançado devido à verificação da lista `validFields`
@@ -180,6 +191,8 @@ public class PagamentoPlanoController {
 
             pagamentoPlanoService.savePaymentPlan(pagamentoPlano);
             return ResponseEntity.ok("O plano do usuário com planPaymentId " + planPaymentId + " foi atualizado com sucesso.");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -227,8 +240,9 @@ public class PagamentoPlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPlanId(@PathVariable Integer plano) {
-        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByPlanoId(plano);
+    public ResponseEntity<?> searchByPlanId(@PathVariable Integer plano,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "pagamentoPlanoId") Pageable pageable) {
+        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByPlanoId(plano, pageable);
         if (!lPagamentoPlano.isEmpty()) {
             return ResponseEntity.ok(lPagamentoPlano);
         } else {
@@ -250,8 +264,9 @@ public class PagamentoPlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUserId(@PathVariable String usuario) {
-        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByUserId(usuario);
+    public ResponseEntity<?> searchByUserId(@PathVariable String usuario,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "pagamentoPlanoId") Pageable pageable) {
+        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByUserId(usuario, pageable);
         if (!lPagamentoPlano.isEmpty()) {
             return ResponseEntity.ok(lPagamentoPlano);
         } else {
@@ -273,8 +288,9 @@ public class PagamentoPlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByDtPagamento(@PathVariable String dataPagamento) {
-        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByDataPagamento(dataPagamento);
+    public ResponseEntity<?> searchByDtPagamento(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataPagamento,
+                                                 @ParameterObject @PageableDefault(size = 50, sort = "pagamentoPlanoId") Pageable pageable) {
+        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByDataPagamento(dataPagamento, pageable);
         if (!lPagamentoPlano.isEmpty()) {
             return ResponseEntity.ok(lPagamentoPlano);
         } else {
@@ -282,7 +298,38 @@ public class PagamentoPlanoController {
         }
     }
 
-    @GetMapping("/findByDataPagamento/{tipoPagamento}")
+    @GetMapping("/findByDataPagamentoBetween")
+    @Operation(summary = "Search payment plans by dataPagamento period", description = "Returns the payment plans whose dataPagamento is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Payment Plan found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PagamentoPlano.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "Payment Plan not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByDataPagamentoBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @ParameterObject @PageableDefault(size = 50, sort = {"dataPagamento", "pagamentoPlanoId"}) Pageable pageable) {
+        try {
+            List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByDataPagamentoBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lPagamentoPlano.isEmpty()) {
+                return ResponseEntity.ok(lPagamentoPlano);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Dados de Pagamento de Plano não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findByTipoPagamento/{tipoPagamento}")
     @Operation(summary = "Find payment plan by tipoPagamento", description = "Returns the user plan with the specified tipoPagamento")
     @ApiResponses(value = {
             @ApiResponse(
@@ -296,8 +343,9 @@ public class PagamentoPlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByTipoPagamento(@PathVariable String tipoPagamento) {
-        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByTipoPagamento(tipoPagamento);
+    public ResponseEntity<?> searchByTipoPagamento(@PathVariable String tipoPagamento,
+                                                   @ParameterObject @PageableDefault(size = 50, sort = "pagamentoPlanoId") Pageable pageable) {
+        List<PagamentoPlano> lPagamentoPlano = pagamentoPlanoService.findByTipoPagamento(tipoPagamento, pageable);
         if (!lPagamentoPlano.isEmpty()) {
             return ResponseEntity.ok(lPagamentoPlano);
         } else {
@@ -7,10 +7,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.PagamentoProduto;
+import org.example.construconectaapisql.service.FormatoExportacao;
 import org.example.construconectaapisql.service.PagamentoProdutoService;
+import org.example.construconectaapisql.service.Periodo;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +27,8 @@ import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -38,7 +47,7 @@ public class PagamentoProdutoController {
     }
 
     @GetMapping("/products-payments")
-    @Operation(summary = "Show all products payments", description = "Returns a list of all available products payments")
+    @Operation(summary = "Show all products payments", description = "Returns a page of all available products payments. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -49,8 +58,30 @@ public class PagamentoProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<PagamentoProduto> findAllProductPayments() {
-        return pagamentoProdutoService.findAllProductPayment();
+    public Slice<PagamentoProduto> findAllProductPayments(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "pagamentoProdutoId") Pageable pageable
+    ) {
+        return pagamentoProdutoService.findAllProductPayment(afterId, pageable);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all product payments", description = "Streams every product payment ordered by id as NDJSON (one JSON object per line) or CSV, writing rows as they are read instead of loading the whole table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Invalid format",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> exportProductPayments(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao formatoExportacao = FormatoExportacao.from(formato);
+            return ResponseEntity.ok()
+                    .contentType(formatoExportacao.getMediaType())
+                    .body(pagamentoProdutoService.exportProductPayments(formatoExportacao));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PostMapping("/add")
@@ -152,7 +183,7 @@ public class PagamentoProdutoController {
 
                 switch (field) {
                     case "dataPagamento":
-                        pagamentoProduto.setDataPagamento((String) entry.getValue());
+                        pagamentoProduto.setDataPagamento(Periodo.parse(field, entry.getValue()));
                         break;
                     case "tipoPagamento":
                         pagamentoProduto.setTipoPagamento((String) entry.getValue());
@@ -181,6 +212,8 @@ public class PagamentoProdutoController {
 
             pagamentoProdutoService.saveProductPayment(pagamentoProduto);
             return ResponseEntity.ok("O(s) dado(s) de pagamento do produto com id " + productPaymentId + " foi atualizado com sucesso.");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DataIntegrityViolationException e) {
             // Identifica qual campo violou a restrição UNIQUE
             String message = e.getRootCause().getMessage();
@@ -234,8 +267,9 @@ public class PagamentoProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByOrderId(@PathVariable Integer orderId) {
-        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByPedido(orderId);
+    public ResponseEntity<?> searchByOrderId(@PathVariable Integer orderId,
+                                             @ParameterObject @PageableDefault(size = 50, sort = "pagamentoProdutoId") Pageable pageable) {
+        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByPedido(orderId, pageable);
         if (!lPagamentoProduto.isEmpty()) {
             return ResponseEntity.ok(lPagamentoProduto);
         } else {
@@ -253,8 +287,9 @@ public class PagamentoProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUserId(@PathVariable String userId) {
-        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByUsuario(userId);
+    public ResponseEntity<?> searchByUserId(@PathVariable String userId,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "pagamentoProdutoId") Pageable pageable) {
+        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByUsuario(userId, pageable);
         if (!lPagamentoProduto.isEmpty()) {
             return ResponseEntity.ok(lPagamentoProduto);
         } else {
@@ -272,8 +307,9 @@ public class PagamentoProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPaymentDate(@PathVariable String paymentDate) {
-        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByDataPagamento(paymentDate);
+    public ResponseEntity<?> searchByPaymentDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate,
+                                                 @ParameterObject @PageableDefault(size = 50, sort = "pagamentoProdutoId") Pageable pageable) {
+        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByDataPagamento(paymentDate, pageable);
         if (!lPagamentoProduto.isEmpty()) {
             return ResponseEntity.ok(lPagamentoProduto);
         } else {
@@ -281,6 +317,33 @@ public class PagamentoProdutoController {
         }
     }
 
+    @GetMapping("/findByPaymentDateBetween")
+    @Operation(summary = "Search product payments by paymentDate period", description = "Returns the product payments whose paymentDate is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products Payments found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagamentoProduto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "Product Payment not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByPaymentDateBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @ParameterObject @PageableDefault(size = 50, sort = {"dataPagamento", "pagamentoProdutoId"}) Pageable pageable) {
+        try {
+            List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByDataPagamentoBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lPagamentoProduto.isEmpty()) {
+                return ResponseEntity.ok(lPagamentoProduto);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Dados de pagamento de produto não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findByPaymentMethod/{type}")
     @Operation(summary = "Search product payment by type", description = "Returns a list of product payment with the specified type")
     @ApiResponses(value = {
@@ -291,8 +354,9 @@ public class PagamentoProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPaymentMethod(@PathVariable String paymentMethod) {
-        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByTipoPagamento(paymentMethod);
+    public ResponseEntity<?> searchByPaymentMethod(@PathVariable String paymentMethod,
+                                                   @ParameterObject @PageableDefault(size = 50, sort = "pagamentoProdutoId") Pageable pageable) {
+        List<PagamentoProduto> lPagamentoProduto = pagamentoProdutoService.findProductPaymentByTipoPagamento(paymentMethod, pageable);
         if (!lPagamentoProduto.isEmpty()) {
             return ResponseEntity.ok(lPagamentoProduto);
         } else {
@@ -8,9 +8,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.PagamentoServico;
 import org.example.construconectaapisql.service.PagamentoServicoService;
+import org.example.construconectaapisql.service.Periodo;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +26,8 @@ import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -37,7 +45,7 @@ public class PagamentoServicoController {
     }
 
     @GetMapping("/payments-services")
-    @Operation(summary = "Show all payments services", description = "Returns a list of all available payments services")
+    @Operation(summary = "Show all payments services", description = "Returns a page of all available payments services. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -48,8 +56,11 @@ public class PagamentoServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<PagamentoServico> findAllPaymentsServices() {
-        return pagamentoServicoService.findAllPaymentsServices();
+    public Slice<PagamentoServico> findAllPaymentsServices(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "pagamentoServicoId") Pageable pageable
+    ) {
+        return pagamentoServicoService.findAllPaymentsServices(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -157,7 +168,7 @@ public class PagamentoServicoController {
                         paymentService.setTipoPagamento((String) entry.getValue());
                         break;
                     case "dataPagamento":
-                        paymentService.setDataPagamento((String) entry.getValue());
+                        paymentService.setDataPagamento(Periodo.parse(field, entry.getValue()));
                         break;
                     default:
                         // Este default nunca será alcançado devido à verificação da lista `validFields`
@@ -177,6 +188,8 @@ public class PagamentoServicoController {
 
             pagamentoServicoService.savePaymentService(paymentService);
             return ResponseEntity.ok("O(s) dado(s) de Pagamento de Serviço com paymentServiceId " + paymentServiceId + " foi atualizado com sucesso.");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -216,8 +229,9 @@ public class PagamentoServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByServiceId(@PathVariable Integer serviceId) {
-        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByServico(serviceId);
+    public ResponseEntity<?> searchByServiceId(@PathVariable Integer serviceId,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "pagamentoServicoId") Pageable pageable) {
+        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByServico(serviceId, pageable);
         if (!lServicePayment.isEmpty()) {
             return ResponseEntity.ok(lServicePayment);
         } else {
@@ -235,8 +249,9 @@ public class PagamentoServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPaymentMethod(@PathVariable String paymentMethod) {
-        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByTipoPagamento(paymentMethod);
+    public ResponseEntity<?> searchByPaymentMethod(@PathVariable String paymentMethod,
+                                                   @ParameterObject @PageableDefault(size = 50, sort = "pagamentoServicoId") Pageable pageable) {
+        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByTipoPagamento(paymentMethod, pageable);
         if (!lServicePayment.isEmpty()) {
             return ResponseEntity.ok(lServicePayment);
         } else {
@@ -254,8 +269,9 @@ public class PagamentoServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPaymentDate(@PathVariable String paymentDate) {
-        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByDataPagamento(paymentDate);
+    public ResponseEntity<?> searchByPaymentDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate,
+                                                 @ParameterObject @PageableDefault(size = 50, sort = "pagamentoServicoId") Pageable pageable) {
+        List<PagamentoServico> lServicePayment = pagamentoServicoService.findByDataPagamento(paymentDate, pageable);
         if (!lServicePayment.isEmpty()) {
             return ResponseEntity.ok(lServicePayment);
         } else {
@@ -263,6 +279,33 @@ public class PagamentoServicoController {
         }
     }
 
+    @GetMapping("/findByPaymentDateBetween")
+    @Operation(summary = "Search services payments by paymentDate period", description = "Returns the services payments whose paymentDate is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Services Payments found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagamentoServico.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "Service Payment not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByPaymentDateBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @ParameterObject @PageableDefault(size = 50, sort = {"dataPagamento", "pagamentoServicoId"}) Pageable pageable) {
+        try {
+            List<PagamentoServico> lServicePayment = pagamentoServicoService.findByDataPagamentoBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lServicePayment.isEmpty()) {
+                return ResponseEntity.ok(lServicePayment);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Dados de pagamento de serviço não encontrados.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
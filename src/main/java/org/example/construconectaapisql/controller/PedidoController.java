@@ -7,10 +7,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.service.FormatoExportacao;
+import org.example.construconectaapisql.service.PedidoFinalizado;
 import org.example.construconectaapisql.service.PedidoService;
+import org.example.construconectaapisql.service.Periodo;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -19,6 +27,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -37,7 +47,7 @@ public class PedidoController {
     }
 
     @GetMapping("/orders")
-    @Operation(summary = "Show all orders", description = "Returns a list of all available orders")
+    @Operation(summary = "Show all orders", description = "Returns a page of all available orders. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -48,8 +58,30 @@ public class PedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Pedido> findAllOrders() {
-        return pedidoService.findAllOrders();
+    public Slice<Pedido> findAllOrders(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "pedidoId") Pageable pageable
+    ) {
+        return pedidoService.findAllOrders(afterId, pageable);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all orders", description = "Streams every order ordered by id as NDJSON (one JSON object per line) or CSV, writing rows as they are read instead of loading the whole table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Invalid format",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> exportOrders(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao formatoExportacao = FormatoExportacao.from(formato);
+            return ResponseEntity.ok()
+                    .contentType(formatoExportacao.getMediaType())
+                    .body(pedidoService.exportOrders(formatoExportacao));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PostMapping("/add")
@@ -91,6 +123,44 @@ public class PedidoController {
         }
     }
 
+    @PostMapping("/checkout")
+    @Operation(summary = "Checkout the user's shopping cart", description = "In a single transaction, turns the shopping cart of the order's user into an order with its items, decrements the products' stock, records the product payment and empties the cart")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Order placed successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoFinalizado.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or empty shopping cart",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock, cart changed during checkout or data integrity violation",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> checkout(@Valid @RequestBody Pedido order,
+                                      BindingResult result,
+                                      @RequestParam String tipoPagamento
+    ) {
+        if (result.hasErrors()) {
+            StringBuilder sb = new StringBuilder("Erros de validação:\n");
+            result.getAllErrors().forEach(error -> {
+                sb.append(" |\n|");
+                sb.append(error.getDefaultMessage());
+            });
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(sb.toString());
+        }
+        try {
+            PedidoFinalizado pedidoFinalizado = pedidoService.checkout(order, tipoPagamento);
+            return ResponseEntity.status(HttpStatus.CREATED).body(pedidoFinalizado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: \n" + e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro ao finalizar pedido: \n" + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/{orderId}")
     @Operation(summary = "Delete an order", description = "Deletes the order with the specified orderId")
     @ApiResponses(value = {
@@ -143,10 +213,10 @@ public class PedidoController {
 
                 switch (field) {
                     case "dataPedido":
-                        order.setDataPedido((String) entry.getValue());
+                        order.setDataPedido(Periodo.parse(field, entry.getValue()));
                         break;
                     case "dataEntrega":
-                        order.setDataEntrega((String) entry.getValue());
+                        order.setDataEntrega(Periodo.parse(field, entry.getValue()));
                         break;
                     default:
                         // Este default nunca será alcançado devido à verificação da lista `validFields`
@@ -166,6 +236,8 @@ public class PedidoController {
 
             pedidoService.saveOrders(order);
             return ResponseEntity.ok("O pedido com orderId " + orderId + " foi atualizado com sucesso.");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -205,8 +277,9 @@ public class PedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUserId(@PathVariable String userId) {
-        List<Pedido> lOrder = pedidoService.findByUsuario(userId);
+    public ResponseEntity<?> searchByUserId(@PathVariable String userId,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "pedidoId") Pageable pageable) {
+        List<Pedido> lOrder = pedidoService.findByUsuario(userId, pageable);
         if (!lOrder.isEmpty()) {
             return ResponseEntity.ok(lOrder);
         } else {
@@ -224,8 +297,9 @@ public class PedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByVoucher(@PathVariable String voucher) {
-        List<Pedido> lOrder = pedidoService.findByCupom(voucher);
+    public ResponseEntity<?> searchByVoucher(@PathVariable String voucher,
+                                             @ParameterObject @PageableDefault(size = 50, sort = "pedidoId") Pageable pageable) {
+        List<Pedido> lOrder = pedidoService.findByCupom(voucher, pageable);
         if (!lOrder.isEmpty()) {
             return ResponseEntity.ok(lOrder);
         } else {
@@ -243,8 +317,9 @@ public class PedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByOrderDate(@PathVariable String orderDate) {
-        List<Pedido> lOrder = pedidoService.findByDataPedido(orderDate);
+    public ResponseEntity<?> searchByOrderDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate orderDate,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "pedidoId") Pageable pageable) {
+        List<Pedido> lOrder = pedidoService.findByDataPedido(orderDate, pageable);
         if (!lOrder.isEmpty()) {
             return ResponseEntity.ok(lOrder);
         } else {
@@ -252,6 +327,33 @@ public class PedidoController {
         }
     }
 
+    @GetMapping("/findByOrderDateBetween")
+    @Operation(summary = "Search orders by orderDate period", description = "Returns the orders whose orderDate is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Pedido.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "Order not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByOrderDateBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @ParameterObject @PageableDefault(size = 50, sort = {"dataPedido", "pedidoId"}) Pageable pageable) {
+        try {
+            List<Pedido> lOrder = pedidoService.findByDataPedidoBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lOrder.isEmpty()) {
+                return ResponseEntity.ok(lOrder);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findByDeliveryDate/{deliveryDate}")
     @Operation(summary = "Search orders by deliveryDate", description = "Returns a list of orders with the specified deliveryDate")
     @ApiResponses(value = {
@@ -262,8 +364,9 @@ public class PedidoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByDeliveryDate(@PathVariable String deliveryDate) {
-        List<Pedido> lOrder = pedidoService.findByDataEntrega(deliveryDate);
+    public ResponseEntity<?> searchByDeliveryDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deliveryDate,
+                                                  @ParameterObject @PageableDefault(size = 50, sort = "pedidoId") Pageable pageable) {
+        List<Pedido> lOrder = pedidoService.findByDataEntrega(deliveryDate, pageable);
         if (!lOrder.isEmpty()) {
             return ResponseEntity.ok(lOrder);
         } else {
@@ -271,6 +374,33 @@ public class PedidoController {
         }
     }
 
+    @GetMapping("/findByDeliveryDateBetween")
+    @Operation(summary = "Search orders by deliveryDate period", description = "Returns the orders whose deliveryDate is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Pedido.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "Order not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByDeliveryDateBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @ParameterObject @PageableDefault(size = 50, sort = {"dataEntrega", "pedidoId"}) Pageable pageable) {
+        try {
+            List<Pedido> lOrder = pedidoService.findByDataEntregaBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lOrder.isEmpty()) {
+                return ResponseEntity.ok(lOrder);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
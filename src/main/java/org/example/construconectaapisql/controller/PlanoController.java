@@ -8,9 +8,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Plano;
 import org.example.construconectaapisql.service.PlanoService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -18,6 +23,7 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -39,7 +45,7 @@ public class PlanoController {
     }
 
     @GetMapping("/plans")
-    @Operation(summary = "Show all plans", description = "Returns a list of all available plans")
+    @Operation(summary = "Show all plans", description = "Returns a page of all available plans. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -47,11 +53,20 @@ public class PlanoController {
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = Plano.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag (If-None-Match)"),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Plano> findAllPlans() {
-        return planoService.findAllPlans();
+    public Slice<Plano> findAllPlans(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "planoId") Pageable pageable,
+            WebRequest request
+    ) {
+        // O ETag vem da marca d'água da tabela; com If-None-Match igual a página nem é buscada
+        if (request.checkNotModified(planoService.findPlansEtag())) {
+            return null;
+        }
+        return planoService.findAllPlans(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -137,7 +152,7 @@ public class PlanoController {
     })
     public ResponseEntity<?> updatePlan(@Valid @PathVariable Long planId, @RequestBody Map<String, Object> updates) {
         try {
-            Plano plano = planoService.findPlanById(planId);
+            Plano plano = planoService.findPlanByIdForUpdate(planId);
 
             // Lista de campos válidos que podem ser atualizados
             List<String> validFields = Arrays.asList("nome", "descricao", "valor");
@@ -184,6 +199,9 @@ public class PlanoController {
             } else {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: " + e.getMessage());
             }
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição alterou o registro entre a leitura e o save (@Version)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição. Busque-o novamente e repita a alteração.");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -206,7 +224,7 @@ public class PlanoController {
         return ResponseEntity.ok(planoService.findPlanById(planId));
     }
 
-    @GetMapping("/findByName/{nane}")
+    @GetMapping("/findByName/{name}")
     @Operation(summary = "Find plan by name", description = "Returns the plan with the specified name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Plan found",
@@ -216,8 +234,9 @@ public class PlanoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> findPlanByName(@PathVariable String name) {
-        return ResponseEntity.ok(planoService.findByNomeCompletoLikeIgnoreCase(name));
+    public ResponseEntity<?> findPlanByName(@PathVariable String name,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "planoId") Pageable pageable) {
+        return ResponseEntity.ok(planoService.findByNomeCompletoLikeIgnoreCase(name, pageable));
     }
 
     public Map<String, String> validate(BindingResult resultado) {
@@ -8,9 +8,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.PlanoUsuario;
 import org.example.construconectaapisql.service.PlanoUsuarioService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -19,6 +24,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -36,7 +42,7 @@ public class PlanoUsuarioController {
     }
 
     @GetMapping("/user-plans")
-    @Operation(summary = "Show all user plans", description = "Returns a list of all available user plans")
+    @Operation(summary = "Show all user plans", description = "Returns a page of all available user plans. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -47,8 +53,11 @@ public class PlanoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<PlanoUsuario> findAllUserPlans() {
-        return planoUsuarioService.findAllUserPlans();
+    public Slice<PlanoUsuario> findAllUserPlans(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "planoUsuarioId") Pageable pageable
+    ) {
+        return planoUsuarioService.findAllUserPlans(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -207,8 +216,9 @@ public class PlanoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUserId(@PathVariable String usuario) {
-        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlansByUserId(usuario);
+    public ResponseEntity<?> searchByUserId(@PathVariable String usuario,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "planoUsuarioId") Pageable pageable) {
+        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlansByUserId(usuario, pageable);
         if (!lPlanoUsuario.isEmpty()) {
             return ResponseEntity.ok(lPlanoUsuario);
         } else {
@@ -226,8 +236,9 @@ public class PlanoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByPlanId(@PathVariable Integer plano) {
-        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByPlanoId(plano);
+    public ResponseEntity<?> searchByPlanId(@PathVariable Integer plano,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "planoUsuarioId") Pageable pageable) {
+        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByPlanoId(plano, pageable);
         if (!lPlanoUsuario.isEmpty()) {
             return ResponseEntity.ok(lPlanoUsuario);
         } else {
@@ -245,8 +256,9 @@ public class PlanoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByDataAssinatura(@PathVariable String dataAssinatura) {
-        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataAssinatura(dataAssinatura);
+    public ResponseEntity<?> searchByDataAssinatura(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataAssinatura,
+                                                    @ParameterObject @PageableDefault(size = 50, sort = "planoUsuarioId") Pageable pageable) {
+        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataAssinatura(dataAssinatura, pageable);
         if (!lPlanoUsuario.isEmpty()) {
             return ResponseEntity.ok(lPlanoUsuario);
         } else {
@@ -254,7 +266,34 @@ public class PlanoUsuarioController {
         }
     }
 
-    @GetMapping("/findByDataAssinatura/{dataFinal}")
+    @GetMapping("/findByDataAssinaturaBetween")
+    @Operation(summary = "Search user plans by dataAssinatura period", description = "Returns the user plans whose dataAssinatura is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User Plan found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlanoUsuario.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "User Plan not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByDataAssinaturaBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                           @ParameterObject @PageableDefault(size = 50, sort = {"dataAssinatura", "planoUsuarioId"}) Pageable pageable) {
+        try {
+            List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataAssinaturaBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lPlanoUsuario.isEmpty()) {
+                return ResponseEntity.ok(lPlanoUsuario);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Plano do Usuário não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findByDataFinal/{dataFinal}")
     @Operation(summary = "Search user plan by dataFinal", description = "Returns a list of user plan with the specified dataFinal")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User Plan found",
@@ -264,8 +303,9 @@ public class PlanoUsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByDataFinal(@PathVariable String dataFinal) {
-        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataFinal(dataFinal);
+    public ResponseEntity<?> searchByDataFinal(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "planoUsuarioId") Pageable pageable) {
+        List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataFinal(dataFinal, pageable);
         if (!lPlanoUsuario.isEmpty()) {
             return ResponseEntity.ok(lPlanoUsuario);
         } else {
@@ -273,6 +313,33 @@ public class PlanoUsuarioController {
         }
     }
 
+    @GetMapping("/findByDataFinalBetween")
+    @Operation(summary = "Search user plans by dataFinal period", description = "Returns the user plans whose dataFinal is between from and to (inclusive, yyyy-MM-dd). When to is omitted it defaults to today")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User Plan found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlanoUsuario.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "404", description = "User Plan not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByDataFinalBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @ParameterObject @PageableDefault(size = 50, sort = {"dataFinal", "planoUsuarioId"}) Pageable pageable) {
+        try {
+            List<PlanoUsuario> lPlanoUsuario = planoUsuarioService.findUserPlanByDataFinalBetween(from, to != null ? to : LocalDate.now(), pageable);
+            if (!lPlanoUsuario.isEmpty()) {
+                return ResponseEntity.ok(lPlanoUsuario);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Plano do Usuário não encontrado.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
@@ -9,11 +9,20 @@ import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Categoria;
 import org.example.construconectaapisql.model.Produto;
 import org.example.construconectaapisql.repository.CategoriaRepository;
+import org.example.construconectaapisql.repository.ProdutoCard;
 import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.service.Lote;
+import org.example.construconectaapisql.service.ProdutoFeed;
 import org.example.construconectaapisql.service.ProdutoService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -21,9 +30,11 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RestController
 @RequestMapping("/product")
@@ -32,23 +43,26 @@ public class ProdutoController {
     private final CategoriaRepository categoriaRepository;
 
     private final ProdutoService produtoService;
+    private final ProdutoFeed produtoFeed;
     private final Validator validator;
 
     @Autowired
     public ProdutoController(
             Validator validator,
             ProdutoService produtoService,
+            ProdutoFeed produtoFeed,
             ProdutoRepository produtoRepository,
             CategoriaRepository categoriaRepository
     ) {
         this.produtoService = produtoService;
+        this.produtoFeed = produtoFeed;
         this.validator = validator;
         this.produtoRepository = produtoRepository;
         this.categoriaRepository = categoriaRepository;
     }
 
     @GetMapping("/products")
-    @Operation(summary = "Show all products", description = "Returns a list of all available products")
+    @Operation(summary = "Show all products", description = "Returns a page of all available products. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -59,8 +73,11 @@ public class ProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Produto> findAllProducts() {
-        return produtoService.findAllProducts();
+    public Slice<Produto> findAllProducts(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "produtoId") Pageable pageable
+    ) {
+        return produtoService.findAllProducts(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -91,8 +108,7 @@ public class ProdutoController {
 
         // Gera um número aleatório entre 1 e 4 se o tópico for nulo
         if (produto.getTopico() == null) {
-            Random random = new Random();
-            produto.setTopico(random.nextInt(4) + 1); // Gera um número entre 1 e 4
+            produto.setTopico(ThreadLocalRandom.current().nextInt(1, 5));
         }
 
         // Verifica se o desconto e o frete foram enviados. Se não, atribui 0.
@@ -116,6 +132,56 @@ public class ProdutoController {
         }
     }
 
+    @PostMapping("/addAll")
+    @Operation(summary = "Add many products", description = "Creates several products in a single transaction, inserting them in JDBC batches. At most " + Lote.MAXIMO_ITENS + " items per request; validation errors are keyed by the item position")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Products created successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Produto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, empty list or too many items",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "Data integrity violation",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> addProducts(@RequestBody List<Produto> produtos) {
+        try {
+            Lote.validar(produtos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        }
+
+        Map<String, String> errors = validateAll(produtos);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        }
+
+        // Mesmos valores padrão do /add: tópico aleatório entre 1 e 4 e desconto zero
+        for (Produto produto : produtos) {
+            if (produto.getTopico() == null) {
+                produto.setTopico(ThreadLocalRandom.current().nextInt(1, 5));
+            }
+            if (produto.getDesconto() == null) {
+                produto.setDesconto(BigDecimal.ZERO);
+            }
+        }
+
+        try {
+            List<Produto> saved = produtoService.saveAllProducts(produtos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: \n" + e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao adicionar produtos: \n" + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/{produtoId}")
     @Operation(summary = "Delete a product", description = "Deletes the product with the specified productId")
     @ApiResponses(value = {
@@ -212,6 +278,9 @@ public class ProdutoController {
 
             produtoService.saveProducts(produto);
             return ResponseEntity.ok("O produto com id " + produtoId + " foi atualizado com sucesso.");
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição alterou o registro entre a leitura e o save (@Version)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição. Busque-o novamente e repita a alteração.");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -224,20 +293,30 @@ public class ProdutoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Produto.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> findProductById(@PathVariable Long produtoId) {
+    public ResponseEntity<?> findProductById(@PathVariable Long produtoId, WebRequest request) {
         try {
-            Produto produto = produtoService.findProductsById(produtoId);
-            if (produto == null) {
+            // Só a versão é consultada; com If-None-Match igual responde 304 sem carregar o registro
+            Optional<String> etag = produtoService.findProductEtag(produtoId);
+            if (etag.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Produto não encontrado.");
             }
+            if (request.checkNotModified(etag.get())) {
+                return null;
+            }
+
+            // Removido entre a consulta da versão e esta leitura: o service lança "não encontrado" (404 abaixo)
+            Produto produto = produtoService.findProductsById(produtoId);
             return ResponseEntity.ok(produto);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
@@ -251,8 +330,12 @@ public class ProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByNomeProduto(@PathVariable String productName) {
-        List<Produto> lProduto = produtoService.findByNomeProduto(productName);
+    public ResponseEntity<?> searchByNomeProduto(@PathVariable String productName,
+                                                 @RequestParam(defaultValue = "false") boolean relevancia,
+                                                 @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        List<Produto> lProduto = relevancia
+                ? produtoService.findByNomeProdutoOrderByRelevancia(productName, pageable)
+                : produtoService.findByNomeProduto(productName, pageable);
         if (!lProduto.isEmpty()) {
             return ResponseEntity.ok(lProduto);
         } else {
@@ -270,8 +353,9 @@ public class ProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByCondicao(@PathVariable Boolean condicao) {
-        List<Produto> lProduto = produtoService.findByCondicao(condicao);
+    public ResponseEntity<?> searchByCondicao(@PathVariable Boolean condicao,
+                                              @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        List<Produto> lProduto = produtoService.findByCondicao(condicao, pageable);
         if (!lProduto.isEmpty()) {
             return ResponseEntity.ok(lProduto);
         } else {
@@ -289,8 +373,9 @@ public class ProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUsuarioId(@PathVariable String userId) {
-        List<Produto> lProduto = produtoService.findByUserId(userId);
+    public ResponseEntity<?> searchByUsuarioId(@PathVariable String userId,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        List<Produto> lProduto = produtoService.findByUserId(userId, pageable);
         if (!lProduto.isEmpty()) {
             return ResponseEntity.ok(lProduto);
         } else {
@@ -308,8 +393,9 @@ public class ProdutoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByTopic(@PathVariable Integer topico) {
-        List<Produto> lProduto = produtoService.findByTopico(topico);
+    public ResponseEntity<?> searchByTopic(@PathVariable Integer topico,
+                                           @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        List<Produto> lProduto = produtoService.findByTopico(topico, pageable);
         if (!lProduto.isEmpty()) {
             return ResponseEntity.ok(lProduto);
         } else {
@@ -324,11 +410,12 @@ public class ProdutoController {
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<List<Produto>> searchByNomeCategoria(@PathVariable String nomeCategoria) {
+    public ResponseEntity<List<Produto>> searchByNomeCategoria(@PathVariable String nomeCategoria,
+                                                               @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
         List<Categoria> categorias = produtoService.findByCategoryName(nomeCategoria);
 
         if (!categorias.isEmpty()) {
-            List<Produto> produtos = produtoService.findByCategorias(categorias);
+            List<Produto> produtos = produtoService.findByCategorias(categorias, pageable);
             return ResponseEntity.ok(produtos); // Retorna lista de produtos encontrados
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // Retorna 404 se a categoria não for encontrada ou estiver vazia
@@ -342,13 +429,14 @@ public class ProdutoController {
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<List<Produto>> searchByCategoryId(@PathVariable Long categoriaId) {
+    public ResponseEntity<List<Produto>> searchByCategoryId(@PathVariable Long categoriaId,
+                                                            @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
         // Buscar a categoria pelo ID
         Optional<Categoria> categoria = categoriaRepository.findById(categoriaId);
 
         if (categoria.isPresent()) {
             // Buscar produtos associados à categoria encontrada
-            List<Produto> produtos = produtoRepository.findByCategorias(Set.of(categoria.get()));
+            List<Produto> produtos = produtoRepository.findByCategorias(Set.of(categoria.get()), pageable);
             return ResponseEntity.ok(produtos);
         } else {
             // Se a categoria não for encontrada, retornar 404
@@ -356,6 +444,126 @@ public class ProdutoController {
         }
     }
 
+    @GetMapping("/feed/{topico}")
+    @Operation(summary = "Show the home screen rail of a topico", description = "Returns the first products of the topico already ranked: 1 (No Topo) newest, 2 (Ofertas) highest discount, 3 (Relevantes) best sellers, 4 (Recomendados) lowest final price. Served from memory with an ETag; send If-None-Match to get 304 when it did not change")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feed found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoCard.class))),
+            @ApiResponse(responseCode = "304", description = "Feed not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid topico",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> findFeedByTopic(@PathVariable Integer topico,
+                                             @RequestParam(defaultValue = "20") int limit,
+                                             WebRequest request) {
+        ProdutoFeed.Feed feed;
+        try {
+            feed = produtoFeed.getFeed(topico);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+
+        if (request.checkNotModified(feed.getEtag())) {
+            return null; // 304 já preenchido pelo checkNotModified
+        }
+        List<ProdutoFeed.Item> produtos = feed.getProdutos();
+        return ResponseEntity.ok()
+                .eTag(feed.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(produtos.subList(0, Math.min(Math.max(limit, 0), produtos.size())));
+    }
+
+    // Endpoints /cards: mesmas listagens de /products, /findByTopic e /findByCategory, só com os campos
+    // exibidos nas telas de listagem (ProdutoCard), sem descrição, usuário e categorias
+    @GetMapping("/cards")
+    @Operation(summary = "Show all product cards", description = "Returns a page of product cards (id, name, price, discount, image and topic). Use page/size/sort, or afterId to continue after the last id received (keyset)")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successful operation",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutoCard.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public Slice<ProdutoCard> findAllProductCards(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "produtoId") Pageable pageable
+    ) {
+        return produtoService.findAllProductCards(afterId, pageable);
+    }
+
+    @GetMapping("/cards/findByTopic/{topico}")
+    @Operation(summary = "Search product cards by topico", description = "Returns the cards of the products with the specified topico")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoCard.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchCardsByTopic(@PathVariable Integer topico,
+                                                @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        List<ProdutoCard> lProduto = produtoService.findCardsByTopico(topico, pageable);
+        if (!lProduto.isEmpty()) {
+            return ResponseEntity.ok(lProduto);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Produto não encontrado.");
+        }
+    }
+
+    @GetMapping("/cards/findByCategory/categoryName/{nomeCategoria}")
+    @Operation(summary = "Search product cards by category name", description = "Returns the cards of the products within the specified category name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoCard.class))),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<List<ProdutoCard>> searchCardsByNomeCategoria(@PathVariable String nomeCategoria,
+                                                                        @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        List<Categoria> categorias = produtoService.findByCategoryName(nomeCategoria);
+
+        if (!categorias.isEmpty()) {
+            return ResponseEntity.ok(produtoService.findCardsByCategorias(categorias, pageable));
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @GetMapping("/cards/findByCategory/categoryId/{categoriaId}")
+    @Operation(summary = "Search product cards by category id", description = "Returns the cards of the products within the specified category id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoCard.class))),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<List<ProdutoCard>> searchCardsByCategoryId(@PathVariable Long categoriaId,
+                                                                     @ParameterObject @PageableDefault(size = 50, sort = "produtoId") Pageable pageable) {
+        Optional<Categoria> categoria = categoriaRepository.findById(categoriaId);
+
+        if (categoria.isPresent()) {
+            return ResponseEntity.ok(produtoService.findCardsByCategorias(List.of(categoria.get()), pageable));
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Valida cada item da lista; as chaves indicam a posição do item (ex.: "[2].preco")
+    public Map<String, String> validateAll(List<?> itens) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            DataBinder binder = new DataBinder(itens.get(i));
+            binder.setValidator(validator);
+            binder.validate();
+            for (FieldError error : binder.getBindingResult().getFieldErrors()) {
+                errors.put("[" + i + "]." + error.getField(), error.getDefaultMessage());
+            }
+        }
+        return errors;
+    }
+
     public Map<String, String> validate(BindingResult resultado) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError error : resultado.getFieldErrors()) {
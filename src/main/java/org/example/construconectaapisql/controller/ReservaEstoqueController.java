@@ -0,0 +1,164 @@
+package org.example.construconectaapisql.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.service.ReservaEstoqueService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stock-reservation")
+public class ReservaEstoqueController {
+    private final ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    public ReservaEstoqueController(ReservaEstoqueService reservaEstoqueService) {
+        this.reservaEstoqueService = reservaEstoqueService;
+    }
+
+    @PostMapping("/reserve")
+    @Operation(summary = "Reserve product stock", description = "Takes the requested quantity out of the product's stock and holds it in an active reservation until it is confirmed, released or expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stock reserved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock or product not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> reserve(@Valid @RequestBody ReservaEstoque reserva, BindingResult result) {
+        if (result.hasErrors()) {
+            StringBuilder sb = new StringBuilder("Erros de validação:\n");
+            result.getAllErrors().forEach(error -> {
+                sb.append(" |\n|");
+                sb.append(error.getDefaultMessage());
+            });
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(sb.toString());
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservaEstoqueService.reserve(reserva));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: " + e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro ao reservar estoque: \n" + e.getMessage());
+        }
+    }
+
+    @PostMapping("/confirm/{reservationId}")
+    @Operation(summary = "Confirm a reservation", description = "Confirms the active reservation with the specified reservationId, keeping the reserved units out of stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation confirmed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "409", description = "Reservation is not active or has expired",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> confirm(@PathVariable Long reservationId) {
+        try {
+            return ResponseEntity.ok(reservaEstoqueService.confirm(reservationId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/release/{reservationId}")
+    @Operation(summary = "Release a reservation", description = "Cancels the active reservation with the specified reservationId and returns the units to the product's stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation released",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "409", description = "Reservation is not active or has expired",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> release(@PathVariable Long reservationId) {
+        try {
+            return ResponseEntity.ok(reservaEstoqueService.release(reservationId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findById/{reservationId}")
+    @Operation(summary = "Find reservation by reservationId", description = "Returns the reservation with the specified reservationId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> findReservationById(@PathVariable Long reservationId) {
+        try {
+            return ResponseEntity.ok(reservaEstoqueService.findReservationById(reservationId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findByUserId/{userId}")
+    @Operation(summary = "Search reservations by userId", description = "Returns a list of reservations made by the specified userId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservations found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByUserId(@PathVariable String userId,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "reservaId") Pageable pageable) {
+        List<ReservaEstoque> lReserva = reservaEstoqueService.findByUserId(userId, pageable);
+        if (!lReserva.isEmpty()) {
+            return ResponseEntity.ok(lReserva);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Reserva não encontrada.");
+        }
+    }
+
+    @GetMapping("/findByProductId/{productId}")
+    @Operation(summary = "Search reservations by productId", description = "Returns a list of reservations of the specified productId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservations found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoque.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    public ResponseEntity<?> searchByProductId(@PathVariable Integer productId,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "reservaId") Pageable pageable) {
+        List<ReservaEstoque> lReserva = reservaEstoqueService.findByProductId(productId, pageable);
+        if (!lReserva.isEmpty()) {
+            return ResponseEntity.ok(lReserva);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Reserva não encontrada.");
+        }
+    }
+}
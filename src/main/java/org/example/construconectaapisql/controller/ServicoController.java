@@ -12,9 +12,14 @@ import org.example.construconectaapisql.model.TagServico;
 import org.example.construconectaapisql.repository.ServicoRepository;
 import org.example.construconectaapisql.repository.TagServicoRepository;
 import org.example.construconectaapisql.service.ServicoService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -22,6 +27,7 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -49,7 +55,7 @@ public class ServicoController {
     }
 
     @GetMapping("/services")
-    @Operation(summary = "Show all services", description = "Returns a list of all available services")
+    @Operation(summary = "Show all services", description = "Returns a page of all available services. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -60,8 +66,11 @@ public class ServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Servico> findAllServices() {
-        return servicoService.findAllServices();
+    public Slice<Servico> findAllServices(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "servicoId") Pageable pageable
+    ) {
+        return servicoService.findAllServices(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -193,6 +202,9 @@ public class ServicoController {
 
             servicoService.saveServices(servico);
             return ResponseEntity.ok("O serviço com id " + serviceId + " foi atualizado com sucesso.");
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição alterou o registro entre a leitura e o save (@Version)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição. Busque-o novamente e repita a alteração.");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -205,20 +217,30 @@ public class ServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Service found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Servico.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "Service not found",
                     content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> findServiceById(@PathVariable Long serviceId) {
+    public ResponseEntity<?> findServiceById(@PathVariable Long serviceId, WebRequest request) {
         try {
-            Servico servico = servicoService.findServicoById(serviceId);
-            if (servico == null) {
+            // Só a versão é consultada; com If-None-Match igual responde 304 sem carregar o registro
+            Optional<String> etag = servicoService.findServiceEtag(serviceId);
+            if (etag.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Servico não encontrado.");
             }
+            if (request.checkNotModified(etag.get())) {
+                return null;
+            }
+
+            // Removido entre a consulta da versão e esta leitura: o service lança "não encontrado" (404 abaixo)
+            Servico servico = servicoService.findServicoById(serviceId);
             return ResponseEntity.ok(servico);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
@@ -232,8 +254,12 @@ public class ServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByServiceName(@PathVariable String serviceName) {
-        List<Servico> lServico = servicoService.findByServiceName(serviceName);
+    public ResponseEntity<?> searchByServiceName(@PathVariable String serviceName,
+                                                 @RequestParam(defaultValue = "false") boolean relevancia,
+                                                 @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        List<Servico> lServico = relevancia
+                ? servicoService.findByServiceNameOrderByRelevancia(serviceName, pageable)
+                : servicoService.findByServiceName(serviceName, pageable);
         if (!lServico.isEmpty()) {
             return ResponseEntity.ok(lServico);
         } else {
@@ -251,8 +277,9 @@ public class ServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByUsuarioId(@PathVariable String userId) {
-        List<Servico> lServico = servicoService.findByUserId(userId);
+    public ResponseEntity<?> searchByUsuarioId(@PathVariable String userId,
+                                               @ParameterObject @PageableDefault(size = 50, sort = "servicoId") Pageable pageable) {
+        List<Servico> lServico = servicoService.findByUserId(userId, pageable);
         if (!lServico.isEmpty()) {
             return ResponseEntity.ok(lServico);
         } else {
@@ -267,11 +294,12 @@ public class ServicoController {
             @ApiResponse(responseCode = "404", description = "Service Tag not found", content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<List<Servico>> searchByServiceTagName(@PathVariable String serviceTagName) {
+    public ResponseEntity<List<Servico>> searchByServiceTagName(@PathVariable String serviceTagName,
+                                                                @ParameterObject @PageableDefault(size = 50, sort = "servicoId") Pageable pageable) {
         List<TagServico> tagServicos = servicoService.findByTagServiceName(serviceTagName);
 
         if (!tagServicos.isEmpty()) {
-            List<Servico> produtos = servicoService.findByServicesTag(tagServicos);
+            List<Servico> produtos = servicoService.findByServicesTag(tagServicos, pageable);
             return ResponseEntity.ok(produtos);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // Retorna 404 se a categoria não for encontrada ou estiver vazia
@@ -285,11 +313,12 @@ public class ServicoController {
             @ApiResponse(responseCode = "404", description = "Service Tag not found", content = @Content(mediaType = "text/plain")),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<List<Servico>> searchByCategoryId(@PathVariable Long serviceTagId) {
+    public ResponseEntity<List<Servico>> searchByCategoryId(@PathVariable Long serviceTagId,
+                                                            @ParameterObject @PageableDefault(size = 50, sort = "servicoId") Pageable pageable) {
         Optional<TagServico> tagServico = tagServicoRepository.findById(serviceTagId);
 
         if (tagServico.isPresent()) {
-            List<Servico> servicos = servicoRepository.findByTagServicos(Set.of(tagServico.get()));
+            List<Servico> servicos = servicoRepository.findByTagServicos(Set.of(tagServico.get()), pageable);
             return ResponseEntity.ok(servicos);
         } else {
             return ResponseEntity.notFound().build();
@@ -10,9 +10,14 @@ import org.example.construconectaapisql.model.TagServico;
 import org.example.construconectaapisql.repository.TagServicoRepository;
 import org.example.construconectaapisql.service.ServicoService;
 import org.example.construconectaapisql.service.TagServicoService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +25,7 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -47,7 +53,7 @@ public class TagServicoController {
     }
 
     @GetMapping("/servicesTag")
-    @Operation(summary = "Show all services tag", description = "Returns a list of all available service tags")
+    @Operation(summary = "Show all services tag", description = "Returns a page of all available service tags. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -55,11 +61,20 @@ public class TagServicoController {
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = TagServico.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag (If-None-Match)"),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<TagServico> findAllServicesTag() {
-        return tagServicoService.findAllTags();
+    public Slice<TagServico> findAllServicesTag(
+            @RequestParam(required = false) Long afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "tagServicoId") Pageable pageable,
+            WebRequest request
+    ) {
+        // O ETag vem da marca d'água da tabela; com If-None-Match igual a página nem é buscada
+        if (request.checkNotModified(tagServicoService.findTagsEtag())) {
+            return null;
+        }
+        return tagServicoService.findAllTags(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -157,7 +172,7 @@ public class TagServicoController {
     public ResponseEntity<?> updateServiceTag(@Valid @PathVariable Long serviceTagId,
                                               @RequestBody Map<String, Object> updates) {
         try {
-            TagServico tagServico = tagServicoService.findTagsById(serviceTagId);
+            TagServico tagServico = tagServicoService.findTagsByIdForUpdate(serviceTagId);
 
             List<String> validFields = Arrays.asList("nome", "precoMedio");
 
@@ -201,6 +216,9 @@ public class TagServicoController {
             } else {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: " + e.getMessage());
             }
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição alterou o registro entre a leitura e o save (@Version)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição. Busque-o novamente e repita a alteração.");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao acessar o banco de dados: \n" + e.getMessage());
@@ -242,8 +260,9 @@ public class TagServicoController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nome) {
-        List<TagServico> lTagServico = tagServicoService.findByNome(nome);
+    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nome,
+                                                  @ParameterObject @PageableDefault(size = 50, sort = "tagServicoId") Pageable pageable) {
+        List<TagServico> lTagServico = tagServicoService.findByNome(nome, pageable);
         if (!lTagServico.isEmpty()) {
             return ResponseEntity.ok(lTagServico);
         } else {
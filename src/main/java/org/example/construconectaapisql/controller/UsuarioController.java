@@ -8,10 +8,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.example.construconectaapisql.model.Usuario;
+import org.example.construconectaapisql.service.Periodo;
 import org.example.construconectaapisql.service.UsuarioService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +25,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -38,7 +44,7 @@ public class UsuarioController {
     }
 
     @GetMapping("/users")
-    @Operation(summary = "Show all users", description = "Returns a list of all available users")
+    @Operation(summary = "Show all users", description = "Returns a page of all available users. Use page/size/sort, or afterId to continue after the last id received (keyset)")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -49,8 +55,11 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public List<Usuario> findAllUsers() {
-        return usuarioService.findAllUsers();
+    public Slice<Usuario> findAllUsers(
+            @RequestParam(required = false) String afterId,
+            @ParameterObject @PageableDefault(size = 20, sort = "uid") Pageable pageable
+    ) {
+        return usuarioService.findAllUsers(afterId, pageable);
     }
 
     @PostMapping("/add")
@@ -172,7 +181,7 @@ public class UsuarioController {
                         usuario.setTelefone((String) entry.getValue());
                         break;
                     case "dataNascimento":
-                        usuario.setDataNascimento((String) entry.getValue());
+                        usuario.setDataNascimento(Periodo.parse(field, entry.getValue()));
                         break;
                     case "genero":
                         usuario.setGenero((Integer) entry.getValue());
@@ -195,20 +204,11 @@ public class UsuarioController {
 
             usuarioService.saveUsers(usuario);
             return ResponseEntity.ok("O usuário com uid " + uid + " foi atualizado com sucesso.");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DataIntegrityViolationException e) {
-            // Identifica qual campo violou a restrição UNIQUE
-            String message = e.getRootCause().getMessage();
-            if (message.contains("telefone")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: Telefone já está em uso.");
-            } else if (message.contains("email")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: Email já está em uso.");
-            } else if (message.contains("nomeUsuario")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: Nome de usuário já está em uso.");
-            } else if (message.contains("cpf")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: CPF já está em uso.");
-            } else {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro de integridade de dados: " + e.getMessage());
-            }
+            // O UsuarioService já traduz a violação dos índices únicos nos campos que estão em uso
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: " + e.getMessage());
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao acessar o banco de dados: \n" + e.getMessage());
         } catch (Exception e) {
@@ -236,6 +236,8 @@ public class UsuarioController {
             usuarioService.saveUsers(userUpdated);
             return ResponseEntity.ok("Usuário atualizado com sucesso");
 
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: " + e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário com UID " + uid + " não encontrado.");
         }
@@ -273,8 +275,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nomeCompleto) {
-        List<Usuario> lUsuario = usuarioService.findByNomeCompleto(nomeCompleto);
+    public ResponseEntity<?> searchByNomeCompleto(@PathVariable String nomeCompleto,
+                                                  @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByNomeCompleto(nomeCompleto, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
@@ -292,8 +295,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByNomeUsuario(@PathVariable String nomeUsuario) {
-        List<Usuario> lUsuario = usuarioService.findByNomeUsuario(nomeUsuario);
+    public ResponseEntity<?> searchByNomeUsuario(@PathVariable String nomeUsuario,
+                                                 @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByNomeUsuario(nomeUsuario, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
@@ -311,8 +315,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByCpf(@PathVariable String cpf) {
-        List<Usuario> lUsuario = usuarioService.findByCpf(cpf);
+    public ResponseEntity<?> searchByCpf(@PathVariable String cpf,
+                                         @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByCpf(cpf, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
@@ -330,8 +335,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByEmail(@PathVariable String email) {
-        List<Usuario> lUsuario = usuarioService.findByEmail(email);
+    public ResponseEntity<?> searchByEmail(@PathVariable String email,
+                                           @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByEmail(email, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
@@ -349,8 +355,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByTelefone(@PathVariable String telefone) {
-        List<Usuario> lUsuario = usuarioService.findByTelefone(telefone);
+    public ResponseEntity<?> searchByTelefone(@PathVariable String telefone,
+                                              @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByTelefone(telefone, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
@@ -368,8 +375,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain"))
     })
-    public ResponseEntity<?> searchByGenero(@PathVariable Integer genero) {
-        List<Usuario> lUsuario = usuarioService.findByGenero(genero);
+    public ResponseEntity<?> searchByGenero(@PathVariable Integer genero,
+                                            @ParameterObject @PageableDefault(size = 50, sort = "uid") Pageable pageable) {
+        List<Usuario> lUsuario = usuarioService.findByGenero(genero, pageable);
         if (!lUsuario.isEmpty()) {
             return ResponseEntity.ok(lUsuario);
         } else {
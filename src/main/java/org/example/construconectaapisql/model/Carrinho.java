@@ -8,10 +8,17 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_carrinho_usuario", columnList = "usuario_id, carrinho_id"),
+        @Index(name = "idx_carrinho_produto", columnList = "produto_id, carrinho_id"),
+        @Index(name = "idx_carrinho_identificador", columnList = "identificador, carrinho_id")
+})
 public class Carrinho {
     @Id
     @Column(name = "carrinho_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com incremento 50: o Hibernate reserva os ids em bloco e consegue agrupar os inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carrinho_seq")
+    @SequenceGenerator(name = "carrinho_seq", sequenceName = "carrinho_seq", allocationSize = 50)
     @Schema(description = "Identificador Único único do carrinho", example = "1")
     private Long carrinhoId;
 
@@ -1,18 +1,30 @@
 package org.example.construconectaapisql.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria")
 public class Categoria {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categoria_seq")
+    @SequenceGenerator(name = "categoria_seq", sequenceName = "categoria_seq", allocationSize = 50)
     @Column(name = "categoria_id")
     @Schema(description = "Identificador Único da categoria", example = "1")
     private Long categoriaId;
 
+    // Incrementada pelo Hibernate a cada alteração; é a base do ETag dos endpoints de leitura
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "O nome da categoria é obrigatório.")
     @Size(max = 250, message = "O nome da categoria deve ter no máximo 250 caracteres")
     @Schema(description = "Nome da categoria", example = "Azulejos")
@@ -35,6 +47,10 @@ public class Categoria {
         this.nome = nome;
     }
 
+    public Long getVersao() { return versao; }
+
+    public void setVersao(Long versao) { this.versao = versao; }
+
     @Override
     public String toString() {
         return "Categoria{" +
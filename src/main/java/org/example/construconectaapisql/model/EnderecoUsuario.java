@@ -6,10 +6,15 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "Endereco_Usuariox")
+@Table(name = "Endereco_Usuariox", indexes = {
+        @Index(name = "idx_endereco_usuario_usuario", columnList = "usuario_id, endereco_usuario_id"),
+        @Index(name = "idx_endereco_usuario_cep", columnList = "cep, endereco_usuario_id"),
+        @Index(name = "idx_endereco_usuario_cidade", columnList = "cidade, endereco_usuario_id")
+})
 public class EnderecoUsuario {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_usuario_seq")
+    @SequenceGenerator(name = "endereco_usuario_seq", sequenceName = "endereco_usuario_seq", allocationSize = 50)
     @Column(name = "endereco_usuario_id")
     @Schema(description = "Identificador único do Endereço do Usuário", example = "1")
     private Long enderecoUsuarioId;
@@ -6,9 +6,15 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_item_pedido_pedido", columnList = "pedido_id, item_pedido_id"),
+        @Index(name = "idx_item_pedido_produto", columnList = "produto_id, item_pedido_id")
+})
 public class ItemPedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com incremento 50, para os itens do checkout serem inseridos em lote
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     @Column(name = "item_pedido_id")
     @Schema(description = "Identificador Único do Item do Pedido", example = "1")
     private Long itemPedidoId;
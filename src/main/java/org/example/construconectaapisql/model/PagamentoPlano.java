@@ -5,12 +5,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "Pagamento_Plano")
+@Table(name = "Pagamento_Plano", indexes = {
+        @Index(name = "idx_pagamento_plano_usuario", columnList = "usuario_id, pagamento_plano_id"),
+        @Index(name = "idx_pagamento_plano_plano", columnList = "plano_id, pagamento_plano_id"),
+        @Index(name = "idx_pagamento_plano_data_pagamento", columnList = "data_pagamento, pagamento_plano_id")
+})
 public class PagamentoPlano {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_plano_seq")
+    @SequenceGenerator(name = "pagamento_plano_seq", sequenceName = "pagamento_plano_seq", allocationSize = 50)
     @Column(name = "pagamento_plano_id")
     @Schema(description = "Identificador único do Pagamento do Plano.", example = "1")
     private Long pagamentoPlanoId;
@@ -34,7 +40,7 @@ public class PagamentoPlano {
 
     @Column(name = "data_pagamento", nullable = false)
     @Schema(description = "Data do Pagamento.", example = "2024-10-01")
-    private String dataPagamento;
+    private LocalDate dataPagamento;
 
     // Constructor
     public PagamentoPlano() {}
@@ -55,8 +61,8 @@ public class PagamentoPlano {
     public String getTipoPagamento() { return tipoPagamento; }
     public void setTipoPagamento(String tipoPagamento) { this.tipoPagamento = tipoPagamento; }
 
-    public String getDataPagamento() { return dataPagamento; }
-    public void setDataPagamento(String dataPagamento) { this.dataPagamento = dataPagamento; }
+    public LocalDate getDataPagamento() { return dataPagamento; }
+    public void setDataPagamento(LocalDate dataPagamento) { this.dataPagamento = dataPagamento; }
 
     @Override
     public String toString() {
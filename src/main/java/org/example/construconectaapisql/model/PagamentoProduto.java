@@ -5,12 +5,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "Pagamento_Produto")
+@Table(name = "Pagamento_Produto", indexes = {
+        @Index(name = "idx_pagamento_produto_usuario", columnList = "usuario_id, pagamento_produto_id"),
+        @Index(name = "idx_pagamento_produto_pedido", columnList = "pedido_id, pagamento_produto_id"),
+        @Index(name = "idx_pagamento_produto_data_pagamento", columnList = "data_pagamento, pagamento_produto_id")
+})
 public class PagamentoProduto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_produto_seq")
+    @SequenceGenerator(name = "pagamento_produto_seq", sequenceName = "pagamento_produto_seq", allocationSize = 50)
     @Column(name = "pagamento_produto_id")
     @Schema(description = "Identificador Único do pagamento de produto", example = "1")
     private Long pagamentoProdutoId;
@@ -25,8 +31,8 @@ public class PagamentoProduto {
     private String usuario;
 
     @Column(name = "data_pagamento", nullable = false)
-    @Schema(description = "Data em que o pagamento foi realizado")
-    private String dataPagamento;
+    @Schema(description = "Data em que o pagamento foi realizado", example = "2024-10-01")
+    private LocalDate dataPagamento;
 
     @Column(name = "tipo_pagamento", nullable = false)
     @Size(max = 20, message = "O tipo de pagamento deve ter no máximo 20 caracteres")
@@ -54,8 +60,8 @@ public class PagamentoProduto {
     public String getUsuario() { return usuario; }
     public void setUsuario(String usuario) { this.usuario = usuario; }
 
-    public String getDataPagamento() { return dataPagamento; }
-    public void setDataPagamento(String dataPagamento) { this.dataPagamento = dataPagamento; }
+    public LocalDate getDataPagamento() { return dataPagamento; }
+    public void setDataPagamento(LocalDate dataPagamento) { this.dataPagamento = dataPagamento; }
 
     public String getTipoPagamento() { return tipoPagamento; }
     public void setTipoPagamento(String tipoPagamento) { this.tipoPagamento = tipoPagamento; }
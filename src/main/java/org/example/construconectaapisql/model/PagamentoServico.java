@@ -5,12 +5,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "Pagamento_Servico")
+@Table(name = "Pagamento_Servico", indexes = {
+        @Index(name = "idx_pagamento_servico_usuario", columnList = "usuario_id, pagamento_servico_id"),
+        @Index(name = "idx_pagamento_servico_servico", columnList = "servico_id, pagamento_servico_id"),
+        @Index(name = "idx_pagamento_servico_data_pagamento", columnList = "data_pagamento, pagamento_servico_id")
+})
 public class PagamentoServico {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_servico_seq")
+    @SequenceGenerator(name = "pagamento_servico_seq", sequenceName = "pagamento_servico_seq", allocationSize = 50)
     @Column(name = "pagamento_servico_id")
     @Schema(description = "Identificador Único do pagamento do serviço", example = "1")
     private Long pagamentoServicoId;
@@ -34,7 +40,7 @@ public class PagamentoServico {
 
     @Column(name = "data_pagamento", nullable = false)
     @Schema(description = "Data em que o pagamento foi realizado", example = "2024-10-13")
-    private String dataPagamento;
+    private LocalDate dataPagamento;
 
     // Constructor
     public PagamentoServico() {}
@@ -55,8 +61,8 @@ public class PagamentoServico {
     public String getTipoPagamento() { return tipoPagamento; }
     public void setTipoPagamento(String tipoPagamento) { this.tipoPagamento = tipoPagamento; }
 
-    public String getDataPagamento() { return dataPagamento; }
-    public void setDataPagamento(String dataPagamento) { this.dataPagamento = dataPagamento; }
+    public LocalDate getDataPagamento() { return dataPagamento; }
+    public void setDataPagamento(LocalDate dataPagamento) { this.dataPagamento = dataPagamento; }
 
     @Override
     public String toString() {
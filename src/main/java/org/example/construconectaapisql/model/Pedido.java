@@ -6,11 +6,19 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_pedido_usuario", columnList = "usuario_id, pedido_id"),
+        @Index(name = "idx_pedido_cupom", columnList = "cupom, pedido_id"),
+        @Index(name = "idx_pedido_data_pedido", columnList = "data_pedido, pedido_id"),
+        @Index(name = "idx_pedido_data_entrega", columnList = "data_entrega, pedido_id")
+})
 public class Pedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     @Column(name = "pedido_id")
     @Schema(description = "Identificador Único do pedido", example = "1")
     private Long pedidoId;
@@ -38,12 +46,12 @@ public class Pedido {
     private BigDecimal valorDesconto;
 
     @Column(name = "data_pedido", nullable = false)
-    @Schema(description = "Data em que o pedido foi realizado")
-    private String dataPedido;
+    @Schema(description = "Data em que o pedido foi realizado", example = "2024-10-01")
+    private LocalDate dataPedido;
 
     @Column(name = "data_entrega", nullable = false)
-    @Schema(description = "Data estimada para entrega do pedido")
-    private String dataEntrega;
+    @Schema(description = "Data estimada para entrega do pedido", example = "2024-10-10")
+    private LocalDate dataEntrega;
 
     // Constructor
     public Pedido() {}
@@ -67,11 +75,11 @@ public class Pedido {
     public BigDecimal getValorDesconto() {return valorDesconto;}
     public void setValorDesconto(BigDecimal valorDesconto) {this.valorDesconto = valorDesconto;}
 
-    public String getDataPedido() {return dataPedido;}
-    public void setDataPedido(String dataPedido) {this.dataPedido = dataPedido;}
+    public LocalDate getDataPedido() {return dataPedido;}
+    public void setDataPedido(LocalDate dataPedido) {this.dataPedido = dataPedido;}
 
-    public String getDataEntrega() {return dataEntrega;}
-    public void setDataEntrega(String dataEntrega) {this.dataEntrega = dataEntrega;}
+    public LocalDate getDataEntrega() {return dataEntrega;}
+    public void setDataEntrega(LocalDate dataEntrega) {this.dataEntrega = dataEntrega;}
 
     @Override
     public String toString() {
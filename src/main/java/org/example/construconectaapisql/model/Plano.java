@@ -1,5 +1,6 @@
 package org.example.construconectaapisql.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -11,11 +12,18 @@ import java.math.BigDecimal;
 @Entity
 public class Plano {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plano_seq")
+    @SequenceGenerator(name = "plano_seq", sequenceName = "plano_seq", allocationSize = 50)
     @Column(name = "plano_id")
     @Schema(description = "Identificador único do Plano", example = "1")
     private Long planoId;
 
+    // Incrementada pelo Hibernate a cada alteração; é a base do ETag dos endpoints de leitura
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long versao;
+
     @Column(nullable = false, unique = true)
     @Size(max = 100, message = "O nome do plano deve ter no máximo 100 caracteres")
     @Schema(description = "Nome do Plano", example = "Premium")
@@ -50,6 +58,10 @@ public class Plano {
     public BigDecimal getValor() { return valor; }
     public void setValor(BigDecimal valor) { this.valor = valor; }
 
+    public Long getVersao() { return versao; }
+
+    public void setVersao(Long versao) { this.versao = versao; }
+
     @Override
     public String toString() {
         return "Plano{" +
@@ -4,12 +4,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDate;
+
 
 @Entity
-@Table(name = "Plano_Usuario")
+@Table(name = "Plano_Usuario", indexes = {
+        @Index(name = "idx_plano_usuario_usuario", columnList = "usuario_id, plano_usuario_id"),
+        @Index(name = "idx_plano_usuario_plano", columnList = "plano_id, plano_usuario_id"),
+        @Index(name = "idx_plano_usuario_data_assinatura", columnList = "data_assinatura, plano_usuario_id"),
+        @Index(name = "idx_plano_usuario_data_final", columnList = "data_final, plano_usuario_id")
+})
 public class PlanoUsuario {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plano_usuario_seq")
+    @SequenceGenerator(name = "plano_usuario_seq", sequenceName = "plano_usuario_seq", allocationSize = 50)
     @Column(name = "plano_usuario_id")
     @Schema(description = "Identificador único do Plano do Usuário", example = "1")
     private Long planoUsuarioId;
@@ -24,12 +32,12 @@ public class PlanoUsuario {
     private Integer plano;
 
     @Column(name = "data_assinatura", nullable = false)
-    @Schema(description = "Data de assinatura do Plano adquirido")
-    private String dataAssinatura;
+    @Schema(description = "Data de assinatura do Plano adquirido", example = "2024-10-01")
+    private LocalDate dataAssinatura;
 
     @Column(name = "data_final", nullable = false)
-    @Schema(description = "Data de expiração do Plano adquirido")
-    private String dataFinal;
+    @Schema(description = "Data de expiração do Plano adquirido", example = "2025-10-01")
+    private LocalDate dataFinal;
 
     // Constructor
     public PlanoUsuario() {}
@@ -44,11 +52,11 @@ public class PlanoUsuario {
     public Integer getPlano() { return plano; }
     public void setPlano(Integer plano) { this.plano = plano; }
 
-    public String getDataAssinatura() { return dataAssinatura; }
-    public void setDataAssinatura(String dataAssinatura) { this.dataAssinatura = dataAssinatura; }
+    public LocalDate getDataAssinatura() { return dataAssinatura; }
+    public void setDataAssinatura(LocalDate dataAssinatura) { this.dataAssinatura = dataAssinatura; }
 
-    public String getDataFinal() { return dataFinal; }
-    public void setDataFinal(String dataFinal) { this.dataFinal = dataFinal; }
+    public LocalDate getDataFinal() { return dataFinal; }
+    public void setDataFinal(LocalDate dataFinal) { this.dataFinal = dataFinal; }
 
     @Override
     public String toString() {
@@ -1,23 +1,40 @@
 package org.example.construconectaapisql.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Set;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_produto_usuario", columnList = "usuario_id, produto_id"),
+        @Index(name = "idx_produto_topico", columnList = "topico, produto_id"),
+        @Index(name = "idx_produto_condicao", columnList = "condicao, produto_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto")
 public class Produto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     @Column(name = "produto_id")
     @Schema(description = "Identificador Único do produto", example = "1")
     private Long produtoId;
 
+    // Incrementada pelo Hibernate a cada alteração; é a base do ETag dos endpoints de leitura
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long versao;
+
     @Column(name = "nome_produto", nullable = false)
     @Size(min = 6, max = 250, message = "O nome do produto deve ter no mínimo 6 e no máximo 250 caracteres")
     @Schema(description = "Nome do produto", example = "Martelo de Construção Reforçado")
@@ -59,11 +76,14 @@ public class Produto {
     @Schema(description = "Tópico do produto - 1 (No Topo), 2 (Ofertas), 3 (Relevantes), 4 (Recomendados)", example = "3")
     private Integer topico;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy: listas carregam as categorias em lote (hibernate.default_batch_fetch_size)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto.categorias")
     @JoinTable(
             name = "Categoria_Produto",
             joinColumns = @JoinColumn(name = "produto_id"),
-            inverseJoinColumns = @JoinColumn(name = "categoria_id")
+            inverseJoinColumns = @JoinColumn(name = "categoria_id"),
+            indexes = @Index(name = "idx_categoria_produto_categoria", columnList = "categoria_id, produto_id")
     )
     private Set<Categoria> categorias;
 
@@ -104,6 +124,10 @@ public class Produto {
     public Set<Categoria> getCategorias() { return categorias; }
     public void setCategorias(Set<Categoria> categorias) { this.categorias = categorias; }
 
+    public Long getVersao() { return versao; }
+
+    public void setVersao(Long versao) { this.versao = versao; }
+
     @Override
     public String toString() {
         return "Produto{" +
@@ -0,0 +1,89 @@
+package org.example.construconectaapisql.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "reserva_estoque", indexes = {
+        @Index(name = "idx_reserva_estoque_usuario", columnList = "usuario_id"),
+        @Index(name = "idx_reserva_estoque_produto", columnList = "produto_id")
+})
+public class ReservaEstoque {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserva_estoque_seq")
+    @SequenceGenerator(name = "reserva_estoque_seq", sequenceName = "reserva_estoque_seq", allocationSize = 50)
+    @Column(name = "reserva_id")
+    @Schema(description = "Identificador Único da reserva", example = "1")
+    private Long reservaId;
+
+    @NotNull(message = "O produto é obrigatório.")
+    @Column(name = "produto_id", nullable = false)
+    @Schema(description = "Identificador Único do produto reservado", example = "101")
+    private Integer produto;
+
+    @Column(name = "usuario_id", nullable = false)
+    @Size(min = 28, max = 28, message = "O UID do usuário deve ter 28 caracteres")
+    @Schema(description = "UID do usuário que fez a reserva", example = "TwbSHSFVasyefyw42SFJAIoQDjJA")
+    private String usuario;
+
+    @NotNull(message = "A quantidade é obrigatória.")
+    @Min(value = 1, message = "A quantidade reservada deve ser maior que 0.")
+    @Schema(description = "Quantidade de unidades reservadas", example = "2")
+    private Integer quantidade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Schema(description = "Situação da reserva (ATIVA, CONFIRMADA, LIBERADA, EXPIRADA)", example = "ATIVA")
+    private StatusReserva status;
+
+    @Column(name = "expira_em", nullable = false)
+    @Schema(description = "Momento em que a reserva ativa expira e o estoque volta para o produto")
+    private OffsetDateTime expiraEm;
+
+    @Column(name = "pedido_id")
+    @Schema(description = "Pedido que usou as unidades da reserva no checkout", example = "12")
+    private Integer pedido;
+
+    // Constructor
+    public ReservaEstoque() {}
+
+    // Getters and Setters
+    public Long getReservaId() { return reservaId; }
+    public void setReservaId(Long reservaId) { this.reservaId = reservaId; }
+
+    public Integer getProduto() { return produto; }
+    public void setProduto(Integer produto) { this.produto = produto; }
+
+    public String getUsuario() { return usuario; }
+    public void setUsuario(String usuario) { this.usuario = usuario; }
+
+    public Integer getQuantidade() { return quantidade; }
+    public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
+
+    public StatusReserva getStatus() { return status; }
+    public void setStatus(StatusReserva status) { this.status = status; }
+
+    public OffsetDateTime getExpiraEm() { return expiraEm; }
+    public void setExpiraEm(OffsetDateTime expiraEm) { this.expiraEm = expiraEm; }
+
+    public Integer getPedido() { return pedido; }
+    public void setPedido(Integer pedido) { this.pedido = pedido; }
+
+    @Override
+    public String toString() {
+        return "ReservaEstoque{" +
+                "reservaId=" + reservaId +
+                ", produto=" + produto +
+                ", usuario='" + usuario + '\'' +
+                ", quantidade=" + quantidade +
+                ", status=" + status +
+                ", expiraEm=" + expiraEm +
+                ", pedido=" + pedido +
+                '}';
+    }
+}
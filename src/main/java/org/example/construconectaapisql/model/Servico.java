@@ -1,21 +1,36 @@
 package org.example.construconectaapisql.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Set;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_servico_usuario", columnList = "usuario_id, servico_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "servico")
 public class Servico {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servico_seq")
+    @SequenceGenerator(name = "servico_seq", sequenceName = "servico_seq", allocationSize = 50)
     @Column(name = "servico_id")
     @Schema(description = "Identificador Único do serviço", example = "1")
     private Long servicoId;
 
+    // Incrementada pelo Hibernate a cada alteração; é a base do ETag dos endpoints de leitura
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long versao;
+
     @Column(name = "nome_servico", nullable = false)
     @Size(max = 100, message = "O nome do serviço deve ter no máximo 100 caracteres")
     @Schema(description = "Nome do serviço", example = "Instalação de Elétrica Residencial")
@@ -35,11 +50,14 @@ public class Servico {
     @Schema(description = "UID do Usuário que oferece o serviço", example = "TwbSHSFVasyefyw42SFJAIoQDjJA")
     private String usuario;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy: listas carregam as tags em lote (hibernate.default_batch_fetch_size)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "servico.tag_servicos")
     @JoinTable(
             name = "TagServico_Servico",
             joinColumns = @JoinColumn(name = "servico_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_servico_id")
+            inverseJoinColumns = @JoinColumn(name = "tag_servico_id"),
+            indexes = @Index(name = "idx_tag_servico_servico_tag", columnList = "tag_servico_id, servico_id")
     )
     private Set<TagServico> tagServicos;
 
@@ -65,6 +83,10 @@ public class Servico {
     public Set<TagServico> getTagServicos() { return tagServicos; }
     public void setTagServicos(Set<TagServico> tagServicos) { this.tagServicos = tagServicos; }
 
+    public Long getVersao() { return versao; }
+
+    public void setVersao(Long versao) { this.versao = versao; }
+
     @Override
     public String toString() {
         return "Servico{" +
@@ -0,0 +1,10 @@
+package org.example.construconectaapisql.model;
+
+// Ciclo de vida da reserva: ATIVA -> CONFIRMADA | LIBERADA | EXPIRADA.
+// O checkout usa as ATIVA e CONFIRMADA ainda sem pedido, e as deixa CONFIRMADA com o pedido preenchido
+public enum StatusReserva {
+    ATIVA,
+    CONFIRMADA,
+    LIBERADA,
+    EXPIRADA
+}
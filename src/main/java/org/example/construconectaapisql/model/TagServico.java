@@ -1,21 +1,33 @@
 package org.example.construconectaapisql.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag_servico")
 public class TagServico {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_servico_seq")
+    @SequenceGenerator(name = "tag_servico_seq", sequenceName = "tag_servico_seq", allocationSize = 50)
     @Column(name = "tag_servico_id")
     @Schema(description = "Identificador Único da Tag do Serviço", example = "1")
     private Long tagServicoId;
 
+    // Incrementada pelo Hibernate a cada alteração; é a base do ETag dos endpoints de leitura
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "O nome da Tag é obrigatório")
     @Size(max = 100, message = "O nome da Tag deve ter no máximo 100 caracteres")
     @Schema(description = "Nome da Tag de Serviço", example = "Encanador")
@@ -39,6 +51,10 @@ public class TagServico {
     public BigDecimal getPrecoMedio() { return precoMedio; }
     public void setPrecoMedio(BigDecimal precoMedio) { this.precoMedio = precoMedio; }
 
+    public Long getVersao() { return versao; }
+
+    public void setVersao(Long versao) { this.versao = versao; }
+
     @Override
     public String toString() {
         return "TagServico{" +
@@ -5,7 +5,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.validator.constraints.br.CPF;
 
+import java.time.LocalDate;
+
 @Entity
+@Table(indexes = {
+        @Index(name = "uk_usuario_cpf", columnList = "cpf", unique = true),
+        @Index(name = "uk_usuario_telefone", columnList = "telefone", unique = true)
+})
 public class Usuario {
     @Id
     @Column(name = "uid", nullable = false, unique = true)
@@ -49,8 +55,8 @@ public class Usuario {
     private String telefone;
 
     @Column(name = "data_nascimento", nullable = false)
-    @Schema(description = "Data de nascimento do Usuário.")
-    private String dataNascimento;
+    @Schema(description = "Data de nascimento do Usuário.", example = "1990-05-20")
+    private LocalDate dataNascimento;
 
     @NotNull(message = "O gênero é obrigatório.")
     @Min(value = 1, message = "O gênero deve ser 1 (masculino), 2 (feminino), 3 (outro) ou 4 (prefiro não dizer).")
@@ -102,10 +108,10 @@ public class Usuario {
         this.telefone = telefone;
     }
 
-    public String getDataNascimento() {
+    public LocalDate getDataNascimento() {
         return dataNascimento;
     }
-    public void setDataNascimento(String dataNascimento) {
+    public void setDataNascimento(LocalDate dataNascimento) {
         this.dataNascimento = dataNascimento;
     }
 
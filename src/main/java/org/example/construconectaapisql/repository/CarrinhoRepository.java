@@ -1,9 +1,16 @@
 package org.example.construconectaapisql.repository;
 
+import jakarta.persistence.LockModeType;
 import org.example.construconectaapisql.model.Carrinho;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,14 +19,58 @@ public interface CarrinhoRepository extends JpaRepository<Carrinho, Long> {
 
     List<Carrinho> findByUsuario(String usuario);
 
-    List<Carrinho> findByProduto(Integer produto);
+    List<Carrinho> findByUsuario(String usuario, Pageable pageable);
+
+    // Carrinho do checkout: trava as linhas (SELECT ... FOR UPDATE) até o fim da transação, então um segundo
+    // checkout do mesmo usuário espera o primeiro e depois não encontra mais as linhas já finalizadas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Carrinho c WHERE c.usuario = :usuario ORDER BY c.carrinhoId")
+    List<Carrinho> findByUsuarioParaCheckout(@Param("usuario") String usuario);
+
+    List<Carrinho> findByProduto(Integer produto, Pageable pageable);
 
     List<Carrinho> findByIdentificador(Integer identificador);
 
-    @Query("SELECT COALESCE(MAX(c.identificador), 0) FROM Carrinho c")
-    Integer findMaxIdentificador();
+    List<Carrinho> findByIdentificador(Integer identificador, Pageable pageable);
+
+    @Query(value = "SELECT nextval('carrinho_identificador_seq')", nativeQuery = true)
+    Long nextIdentificador();
 
     void deleteByUsuario(String usuario);
 
     void deleteByIdentificador(Integer identificador);
+
+    // Um único DELETE, sem carregar as linhas como o deleteBy derivado; só as linhas informadas,
+    // para não apagar um item incluído no carrinho depois da leitura
+    @Modifying
+    @Query("DELETE FROM Carrinho c WHERE c.carrinhoId IN :carrinhoIds")
+    int bulkDeleteByCarrinhoIds(@Param("carrinhoIds") Collection<Long> carrinhoIds);
+
+    // Recalcula o valor total e a imagem de um lote de linhas do produto, a partir do preço atual em produto.
+    // Keyset em carrinho_id (idx_carrinho_produto): cada chamada trava no máximo :limite linhas.
+    // Linhas já corretas ficam de fora do UPDATE. Retorna [último carrinho_id do lote, linhas alteradas];
+    // o id vem nulo quando não há mais linhas depois de :aposId
+    @Query(value = "WITH lote AS (" +
+            "    SELECT carrinho_id FROM carrinho " +
+            "    WHERE produto_id = :produtoId AND carrinho_id > :aposId " +
+            "    ORDER BY carrinho_id LIMIT :limite" +
+            "), alterados AS (" +
+            "    UPDATE carrinho c " +
+            "    SET valor_total = ROUND(p.preco * (1 - COALESCE(p.desconto, 0)) * c.quantidade, 2), " +
+            "        produtos_img = p.imagem " +
+            "    FROM lote l, produto p " +
+            "    WHERE c.carrinho_id = l.carrinho_id AND p.produto_id = c.produto_id " +
+            "      AND (c.valor_total IS DISTINCT FROM ROUND(p.preco * (1 - COALESCE(p.desconto, 0)) * c.quantidade, 2) " +
+            "           OR c.produtos_img IS DISTINCT FROM p.imagem) " +
+            "    RETURNING c.carrinho_id" +
+            ") " +
+            "SELECT (SELECT MAX(carrinho_id) FROM lote), (SELECT COUNT(*) FROM alterados)",
+            nativeQuery = true)
+    List<Object[]> recalcularLote(@Param("produtoId") Long produtoId,
+                                  @Param("aposId") Long aposId,
+                                  @Param("limite") int limite);
+
+    Slice<Carrinho> findAllBy(Pageable pageable);
+
+    Slice<Carrinho> findByCarrinhoIdGreaterThan(Long carrinhoId, Pageable pageable);
 }
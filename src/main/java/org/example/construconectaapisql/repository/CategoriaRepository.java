@@ -1,7 +1,11 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.Categoria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,7 +13,26 @@ import java.util.Optional;
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     Optional<Categoria> findById(Long categoriaId);
 
+    // Marca d'água da tabela inteira (quantidade-soma das versões-maior id): muda em todo insert, update
+    // e delete, então serve de ETag para qualquer página da listagem sem carregar as entidades
+    @Query("SELECT CONCAT(CAST(COUNT(c) AS String), '-', CAST(COALESCE(SUM(c.versao), 0) AS String), '-', " +
+            "CAST(COALESCE(MAX(c.categoriaId), 0) AS String)) FROM Categoria c")
+    String findVersaoColecao();
+
     List<Categoria> findByNomeLikeIgnoreCase(String nome);
 
+    List<Categoria> findByNomeLikeIgnoreCase(String nome, Pageable pageable);
+
     boolean existsByNomeIgnoreCase(String nome);
+
+    // Busca sem acento usando o índice GIN de trigramas (idx_categoria_nome_trgm)
+    @Query(value = "SELECT c.* FROM categoria c " +
+            "WHERE f_unaccent(lower(c.nome)) LIKE '%' || f_unaccent(lower(:termo)) || '%' " +
+            "ORDER BY c.categoria_id",
+            nativeQuery = true)
+    List<Categoria> searchByNome(@Param("termo") String termo);
+
+    Slice<Categoria> findAllBy(Pageable pageable);
+
+    Slice<Categoria> findByCategoriaIdGreaterThan(Long categoriaId, Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.EnderecoUsuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -9,15 +11,19 @@ import java.util.Optional;
 public interface EnderecoUsuarioRepository extends JpaRepository<EnderecoUsuario, Long> {
     Optional<EnderecoUsuario> findById(Long enderecoUsuarioId);
 
-    List<EnderecoUsuario> findByCep(String cep);
+    List<EnderecoUsuario> findByCep(String cep, Pageable pageable);
 
-    List<EnderecoUsuario> findByUf(String uf);
+    List<EnderecoUsuario> findByUf(String uf, Pageable pageable);
 
-    List<EnderecoUsuario> findByCidade(String cidade);
+    List<EnderecoUsuario> findByCidade(String cidade, Pageable pageable);
 
-    List<EnderecoUsuario> findByBairro(String bairro);
+    List<EnderecoUsuario> findByBairro(String bairro, Pageable pageable);
 
-    List<EnderecoUsuario> findByRua(String rua);
+    List<EnderecoUsuario> findByRua(String rua, Pageable pageable);
 
-    List<EnderecoUsuario> findByUsuario(String usuario);
+    List<EnderecoUsuario> findByUsuario(String usuario, Pageable pageable);
+
+    Slice<EnderecoUsuario> findAllBy(Pageable pageable);
+
+    Slice<EnderecoUsuario> findByEnderecoUsuarioIdGreaterThan(Long enderecoUsuarioId, Pageable pageable);
 }
@@ -1,15 +1,32 @@
 package org.example.construconectaapisql.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.construconectaapisql.model.ItemPedido;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
     Optional<ItemPedido> findById(Long itemPedidoId);
 
-    List<ItemPedido> findByProduto(Integer produto);
+    List<ItemPedido> findByProduto(Integer produto, Pageable pageable);
 
-    List<ItemPedido> findByPedido(Integer pedido);
+    List<ItemPedido> findByPedido(Integer pedido, Pageable pageable);
+
+    Slice<ItemPedido> findAllBy(Pageable pageable);
+
+    Slice<ItemPedido> findByItemPedidoIdGreaterThan(Long itemPedidoId, Pageable pageable);
+
+    // Exportação: cursor com fetch size e entidades somente leitura (sem snapshot de dirty checking)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ItemPedido> streamAllByOrderByItemPedidoId();
 }
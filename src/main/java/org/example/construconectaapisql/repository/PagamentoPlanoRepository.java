@@ -1,19 +1,29 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.PagamentoPlano;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface PagamentoPlanoRepository extends JpaRepository<PagamentoPlano, Long> {
     Optional<PagamentoPlano> findById(Long pagamentoPlanoId);
 
-    List<PagamentoPlano> findByPlano(Integer plano);
+    List<PagamentoPlano> findByPlano(Integer plano, Pageable pageable);
 
-    List<PagamentoPlano> findByUsuario(String usuario);
+    List<PagamentoPlano> findByUsuario(String usuario, Pageable pageable);
 
-    List<PagamentoPlano> findByDataPagamento(String dataPagamento);
+    List<PagamentoPlano> findByDataPagamento(LocalDate dataPagamento, Pageable pageable);
 
-    List<PagamentoPlano> findByTipoPagamento(String tipoPagamento);
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_pagamento
+    List<PagamentoPlano> findByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    List<PagamentoPlano> findByTipoPagamento(String tipoPagamento, Pageable pageable);
+
+    Slice<PagamentoPlano> findAllBy(Pageable pageable);
+
+    Slice<PagamentoPlano> findByPagamentoPlanoIdGreaterThan(Long pagamentoPlanoId, Pageable pageable);
 }
@@ -1,19 +1,40 @@
 package org.example.construconectaapisql.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.construconectaapisql.model.PagamentoProduto;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PagamentoProdutoRepository extends JpaRepository<PagamentoProduto, Long> {
     Optional<PagamentoProduto> findById(Long pagamentoPlanoId);
 
-    List<PagamentoProduto> findByPedido(Integer pedido);
+    List<PagamentoProduto> findByPedido(Integer pedido, Pageable pageable);
 
-    List<PagamentoProduto> findByUsuario(String usuario);
+    List<PagamentoProduto> findByUsuario(String usuario, Pageable pageable);
 
-    List<PagamentoProduto> findByDataPagamento(String dataPagamento);
+    List<PagamentoProduto> findByDataPagamento(LocalDate dataPagamento, Pageable pageable);
 
-    List<PagamentoProduto> findByTipoPagamento(String tipoPagamento);
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_pagamento
+    List<PagamentoProduto> findByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    List<PagamentoProduto> findByTipoPagamento(String tipoPagamento, Pageable pageable);
+
+    Slice<PagamentoProduto> findAllBy(Pageable pageable);
+
+    Slice<PagamentoProduto> findByPagamentoProdutoIdGreaterThan(Long pagamentoProdutoId, Pageable pageable);
+
+    // Exportação: cursor com fetch size e entidades somente leitura (sem snapshot de dirty checking)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PagamentoProduto> streamAllByOrderByPagamentoProdutoId();
 }
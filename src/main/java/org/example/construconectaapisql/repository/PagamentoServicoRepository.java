@@ -1,19 +1,29 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.PagamentoServico;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface PagamentoServicoRepository extends JpaRepository<PagamentoServico, Long> {
     Optional<PagamentoServico> findById(Long pagamentoServicoId);
 
-    List<PagamentoServico> findByServico(Integer servico);
+    List<PagamentoServico> findByServico(Integer servico, Pageable pageable);
 
     List<PagamentoServico> findByUsuario(String usuario);
 
-    List<PagamentoServico> findByTipoPagamentoLikeIgnoreCase(String tipoPagamento);
+    List<PagamentoServico> findByTipoPagamentoLikeIgnoreCase(String tipoPagamento, Pageable pageable);
 
-    List<PagamentoServico> findByDataPagamento(String dataPagamento);
+    List<PagamentoServico> findByDataPagamento(LocalDate dataPagamento, Pageable pageable);
+
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_pagamento
+    List<PagamentoServico> findByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    Slice<PagamentoServico> findAllBy(Pageable pageable);
+
+    Slice<PagamentoServico> findByPagamentoServicoIdGreaterThan(Long pagamentoServicoId, Pageable pageable);
 }
@@ -1,19 +1,43 @@
 package org.example.construconectaapisql.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.construconectaapisql.model.Pedido;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     Optional<Pedido> findById(Long pedidoId);
 
-    List<Pedido> findByUsuario(String usuario);
+    List<Pedido> findByUsuario(String usuario, Pageable pageable);
 
-    List<Pedido> findByCupom(String cupom);
+    List<Pedido> findByCupom(String cupom, Pageable pageable);
 
-    List<Pedido> findByDataPedido(String dataPedido);
+    List<Pedido> findByDataPedido(LocalDate dataPedido, Pageable pageable);
 
-    List<Pedido> findByDataEntrega(String dataEntrega);
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_pedido
+    List<Pedido> findByDataPedidoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    List<Pedido> findByDataEntrega(LocalDate dataEntrega, Pageable pageable);
+
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_entrega
+    List<Pedido> findByDataEntregaBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    Slice<Pedido> findAllBy(Pageable pageable);
+
+    Slice<Pedido> findByPedidoIdGreaterThan(Long pedidoId, Pageable pageable);
+
+    // Exportação: cursor com fetch size e entidades somente leitura (sem snapshot de dirty checking)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Pedido> streamAllByOrderByPedidoId();
 }
@@ -1,7 +1,11 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.Plano;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +13,17 @@ import java.util.Optional;
 public interface PlanoRepository extends JpaRepository<Plano, Long> {
     Optional<Plano> findById(Long planoId);
 
+    // Marca d'água da tabela inteira (quantidade-soma das versões-maior id): muda em todo insert, update
+    // e delete, então serve de ETag para qualquer página da listagem sem carregar as entidades
+    @Query("SELECT CONCAT(CAST(COUNT(p) AS String), '-', CAST(COALESCE(SUM(p.versao), 0) AS String), '-', " +
+            "CAST(COALESCE(MAX(p.planoId), 0) AS String)) FROM Plano p")
+    String findVersaoColecao();
+
     List<Plano> findByNomeLikeIgnoreCase(String nome);
-}
 
+    List<Plano> findByNomeLikeIgnoreCase(String nome, Pageable pageable);
+
+    Slice<Plano> findAllBy(Pageable pageable);
+
+    Slice<Plano> findByPlanoIdGreaterThan(Long planoId, Pageable pageable);
+}
@@ -1,19 +1,32 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.PlanoUsuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface PlanoUsuarioRepository extends JpaRepository<PlanoUsuario, Long> {
     Optional<PlanoUsuario> findById(Long planoUsuarioId);
 
-    List<PlanoUsuario> findByPlano(Integer plano);
+    List<PlanoUsuario> findByPlano(Integer plano, Pageable pageable);
 
-    List<PlanoUsuario> findByUsuario(String usuario);
+    List<PlanoUsuario> findByUsuario(String usuario, Pageable pageable);
 
-    List<PlanoUsuario> findByDataAssinatura(String dataAssinatura);
+    List<PlanoUsuario> findByDataAssinatura(LocalDate dataAssinatura, Pageable pageable);
 
-    List<PlanoUsuario> findByDataFinal(String dataFinal);
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_assinatura
+    List<PlanoUsuario> findByDataAssinaturaBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    List<PlanoUsuario> findByDataFinal(LocalDate dataFinal, Pageable pageable);
+
+    // Período inclusivo nas duas pontas; usa o índice B-tree de data_final
+    List<PlanoUsuario> findByDataFinalBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    Slice<PlanoUsuario> findAllBy(Pageable pageable);
+
+    Slice<PlanoUsuario> findByPlanoUsuarioIdGreaterThan(Long planoUsuarioId, Pageable pageable);
 }
@@ -0,0 +1,23 @@
+package org.example.construconectaapisql.repository;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+// Projeção fechada com o que as telas de listagem mostram de um produto.
+// O Spring Data seleciona só estas colunas e devolve tuplas: sem hidratar Produto, sem categorias,
+// sem snapshot para dirty checking e sem passar pelo cache de 2º nível.
+@Schema(description = "Resumo do produto para as telas de listagem")
+public interface ProdutoCard {
+    Long getProdutoId();
+
+    String getNomeProduto();
+
+    BigDecimal getPreco();
+
+    BigDecimal getDesconto();
+
+    String getImagem();
+
+    Integer getTopico();
+}
@@ -0,0 +1,14 @@
+package org.example.construconectaapisql.repository;
+
+import java.util.Collection;
+
+// Atualizações de estoque em SQL direto que não derrubam a região inteira de Produto no cache de 2º nível
+public interface ProdutoEstoqueRepository {
+    // Baixa condicional: só atualiza se ainda houver estoque suficiente (retorna 0 caso contrário)
+    int decrementarEstoque(Long produtoId, Integer quantidade);
+
+    int incrementarEstoque(Long produtoId, Integer quantidade);
+
+    // Remove do cache de 2º nível os produtos alterados por SQL fora do Hibernate, após o commit
+    void invalidarCache(Collection<Long> produtoIds);
+}
@@ -0,0 +1,70 @@
+package org.example.construconectaapisql.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.construconectaapisql.model.Produto;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+class ProdutoEstoqueRepositoryImpl implements ProdutoEstoqueRepository {
+    // Espaço de consulta próprio: sem ele o Hibernate invalida todas as regiões do cache a cada update nativo,
+    // e com "produto" invalidaria a região inteira de Produto; aqui só o produto alterado sai do cache
+    private static final String ESPACO_ESTOQUE = "produto_estoque";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int decrementarEstoque(Long produtoId, Integer quantidade) {
+        return atualizar("UPDATE produto SET estoque = estoque - :quantidade, versao = versao + 1 " +
+                "WHERE produto_id = :produtoId AND estoque >= :quantidade", produtoId, quantidade);
+    }
+
+    @Override
+    public int incrementarEstoque(Long produtoId, Integer quantidade) {
+        return atualizar("UPDATE produto SET estoque = estoque + :quantidade, versao = versao + 1 " +
+                "WHERE produto_id = :produtoId", produtoId, quantidade);
+    }
+
+    @Override
+    public void invalidarCache(Collection<Long> produtoIds) {
+        if (produtoIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(produtoIds);
+        evict(ids);
+
+        // Evict de novo depois do commit: uma leitura concorrente pode ter recolocado o valor antigo no meio tempo
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    private int atualizar(String sql, Long produtoId, Integer quantidade) {
+        int linhas = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(ESPACO_ESTOQUE)
+                .setParameter("produtoId", produtoId)
+                .setParameter("quantidade", quantidade)
+                .executeUpdate();
+        if (linhas > 0) {
+            invalidarCache(List.of(produtoId));
+        }
+        return linhas;
+    }
+
+    private void evict(List<Long> produtoIds) {
+        for (Long produtoId : produtoIds) {
+            entityManager.getEntityManagerFactory().getCache().evict(Produto.class, produtoId);
+        }
+    }
+}
@@ -2,20 +2,84 @@ package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.Categoria;
 import org.example.construconectaapisql.model.Produto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoEstoqueRepository {
+    @EntityGraph(attributePaths = "categorias")
     Optional<Produto> findById(Long produtoId);
 
-    List<Produto> findByCondicao(Boolean condicao);
+    // Versão do produto e das categorias que vêm no corpo de /findById, sem carregar as entidades:
+    // renomear uma categoria muda a soma, remover uma muda a contagem
+    @Query("SELECT CONCAT(CAST(p.versao AS String), '-', CAST(COUNT(c) AS String), '-', " +
+            "CAST(COALESCE(SUM(c.versao), 0) AS String), '-', CAST(COALESCE(MAX(c.categoriaId), 0) AS String)) " +
+            "FROM Produto p LEFT JOIN p.categorias c WHERE p.produtoId = :produtoId GROUP BY p.versao")
+    Optional<String> findVersaoById(@Param("produtoId") Long produtoId);
 
-    List<Produto> findByUsuario(String usuario);
+    List<Produto> findByCondicao(Boolean condicao, Pageable pageable);
 
-    List<Produto> findByTopico(Integer topico);
+    List<Produto> findByUsuario(String usuario, Pageable pageable);
 
-    List<Produto> findByCategorias(Set<Categoria> categorias);
+    List<Produto> findByTopico(Integer topico, Pageable pageable);
+
+    List<Produto> findByCategorias(Set<Categoria> categorias, Pageable pageable);
+
+    // Sem paginação, então as categorias vêm no mesmo select via join fetch
+    @EntityGraph(attributePaths = "categorias")
+    List<Produto> findByProdutoIdIn(Collection<Long> produtoIds, Sort sort);
+
+    @Query("SELECT p.produtoId, p.nomeProduto FROM Produto p")
+    List<Object[]> findAllNomes();
+
+    // Os :limite primeiros de cada tópico, já na ordem do trilho da tela inicial (mesma ordem do ProdutoFeed):
+    // 1 mais novos, 2 maior desconto, 3 mais vendidos, 4 menor preço final. Colunas: id, nome, preço,
+    // desconto, imagem, tópico e quantidade vendida
+    @Query(value = "SELECT r.produto_id, r.nome_produto, r.preco, r.desconto, r.imagem, r.topico, r.vendidos FROM (" +
+            "SELECT p.produto_id, p.nome_produto, p.preco, p.desconto, p.imagem, p.topico, " +
+            "COALESCE(v.vendidos, 0) AS vendidos, " +
+            "ROW_NUMBER() OVER (PARTITION BY p.topico ORDER BY CASE p.topico " +
+            "WHEN 1 THEN p.produto_id " +
+            "WHEN 2 THEN COALESCE(p.desconto, 0) " +
+            "WHEN 3 THEN COALESCE(v.vendidos, 0) " +
+            "ELSE -(p.preco * (1 - COALESCE(p.desconto, 0))) END DESC, p.produto_id DESC) AS posicao " +
+            "FROM produto p " +
+            "LEFT JOIN (SELECT i.produto_id, SUM(i.quantidade) AS vendidos FROM item_pedido i GROUP BY i.produto_id) v " +
+            "ON v.produto_id = p.produto_id) r " +
+            "WHERE r.posicao <= :limite ORDER BY r.topico, r.posicao", nativeQuery = true)
+    List<Object[]> findFeeds(@Param("limite") int limite);
+
+    // Busca sem acento usando o índice GIN de trigramas (idx_produto_nome_trgm), ordenada por similaridade
+    @Query(value = "SELECT p.* FROM produto p " +
+            "WHERE f_unaccent(lower(p.nome_produto)) LIKE '%' || f_unaccent(lower(:termo)) || '%' " +
+            "ORDER BY similarity(f_unaccent(lower(p.nome_produto)), f_unaccent(lower(:termo))) DESC, p.produto_id",
+            nativeQuery = true)
+    List<Produto> searchByNomeOrderByRelevancia(@Param("termo") String termo, Pageable pageable);
+
+    Slice<Produto> findAllBy(Pageable pageable);
+
+    Slice<Produto> findByProdutoIdGreaterThan(Long produtoId, Pageable pageable);
+
+    // Versões em ProdutoCard das listagens acima: a consulta traz só as colunas da projeção
+    Slice<ProdutoCard> findCardsBy(Pageable pageable);
+
+    Slice<ProdutoCard> findCardsByProdutoIdGreaterThan(Long produtoId, Pageable pageable);
+
+    List<ProdutoCard> findCardsByTopico(Integer topico, Pageable pageable);
+
+    // Subconsulta em vez de join para não repetir o produto que está em mais de uma das categorias
+    @Query("SELECT p.produtoId AS produtoId, p.nomeProduto AS nomeProduto, p.preco AS preco, " +
+            "p.desconto AS desconto, p.imagem AS imagem, p.topico AS topico FROM Produto p " +
+            "WHERE p.produtoId IN (SELECT cp.produtoId FROM Produto cp JOIN cp.categorias c " +
+            "WHERE c.categoriaId IN :categoriaIds)")
+    List<ProdutoCard> findCardsByCategoriaIds(@Param("categoriaIds") Collection<Long> categoriaIds, Pageable pageable);
 }
@@ -0,0 +1,59 @@
+package org.example.construconectaapisql.repository;
+
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.model.StatusReserva;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservaEstoqueRepository extends JpaRepository<ReservaEstoque, Long> {
+    List<ReservaEstoque> findByUsuario(String usuario, Pageable pageable);
+
+    List<ReservaEstoque> findByProduto(Integer produto, Pageable pageable);
+
+    // Transição de status condicional: só uma requisição consegue tirar a reserva de ATIVA
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReservaEstoque r SET r.status = :novo " +
+            "WHERE r.reservaId = :reservaId AND r.status = :ativa AND r.expiraEm > :agora")
+    int finalizarAtiva(@Param("reservaId") Long reservaId,
+                       @Param("ativa") StatusReserva ativa,
+                       @Param("novo") StatusReserva novo,
+                       @Param("agora") OffsetDateTime agora);
+
+    // Expira as reservas vencidas e devolve o estoque num único statement, somando por produto.
+    // Executada como consulta (RETURNING) para devolver os produtos afetados e invalidar só eles no cache
+    @Query(value = "WITH expiradas AS (" +
+            "    UPDATE reserva_estoque SET status = 'EXPIRADA' " +
+            "    WHERE status = 'ATIVA' AND expira_em <= :agora " +
+            "    RETURNING produto_id, quantidade" +
+            "), por_produto AS (" +
+            "    SELECT produto_id, SUM(quantidade) AS quantidade FROM expiradas GROUP BY produto_id" +
+            ") " +
+            "UPDATE produto p SET estoque = p.estoque + e.quantidade, versao = p.versao + 1 " +
+            "FROM por_produto e WHERE p.produto_id = e.produto_id " +
+            "RETURNING p.produto_id",
+            nativeQuery = true)
+    List<Long> expirarVencidas(@Param("agora") OffsetDateTime agora);
+
+    // Liga ao pedido as reservas do usuário ainda não usadas (ATIVA dentro da validade ou CONFIRMADA) e
+    // devolve [produto_id, unidades reservadas] por produto. O update trava as linhas, então a expiração
+    // concorrente não devolve ao estoque uma reserva que o checkout já usou
+    @Query(value = "WITH usadas AS (" +
+            "    UPDATE reserva_estoque SET status = 'CONFIRMADA', pedido_id = :pedidoId " +
+            "    WHERE usuario_id = :usuario AND produto_id IN (:produtoIds) AND pedido_id IS NULL " +
+            "      AND (status = 'CONFIRMADA' OR (status = 'ATIVA' AND expira_em > :agora)) " +
+            "    RETURNING produto_id, quantidade" +
+            ") " +
+            "SELECT produto_id, SUM(quantidade) FROM usadas GROUP BY produto_id",
+            nativeQuery = true)
+    List<Object[]> usarNoPedido(@Param("usuario") String usuario,
+                                @Param("produtoIds") Collection<Integer> produtoIds,
+                                @Param("pedidoId") Integer pedidoId,
+                                @Param("agora") OffsetDateTime agora);
+}
@@ -2,16 +2,45 @@ package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.Servico;
 import org.example.construconectaapisql.model.TagServico;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface ServicoRepository extends JpaRepository<Servico, Long> {
+    @EntityGraph(attributePaths = "tagServicos")
     Optional<Servico> findById(Long servicoId);
 
-    List<Servico> findByUsuario(String usuario);
+    // Versão do serviço e das tags que vêm no corpo de /findById, sem carregar as entidades
+    @Query("SELECT CONCAT(CAST(s.versao AS String), '-', CAST(COUNT(t) AS String), '-', " +
+            "CAST(COALESCE(SUM(t.versao), 0) AS String), '-', CAST(COALESCE(MAX(t.tagServicoId), 0) AS String)) " +
+            "FROM Servico s LEFT JOIN s.tagServicos t WHERE s.servicoId = :servicoId GROUP BY s.versao")
+    Optional<String> findVersaoById(@Param("servicoId") Long servicoId);
 
-    List<Servico> findByTagServicos(Set<TagServico> tagServicos);
+    List<Servico> findByUsuario(String usuario, Pageable pageable);
+
+    List<Servico> findByTagServicos(Set<TagServico> tagServicos, Pageable pageable);
+
+    // Busca sem acento usando o índice GIN de trigramas (idx_servico_nome_trgm)
+    @Query(value = "SELECT s.* FROM servico s " +
+            "WHERE f_unaccent(lower(s.nome_servico)) LIKE '%' || f_unaccent(lower(:termo)) || '%' " +
+            "ORDER BY s.servico_id",
+            nativeQuery = true)
+    List<Servico> searchByNome(@Param("termo") String termo, Pageable pageable);
+
+    @Query(value = "SELECT s.* FROM servico s " +
+            "WHERE f_unaccent(lower(s.nome_servico)) LIKE '%' || f_unaccent(lower(:termo)) || '%' " +
+            "ORDER BY similarity(f_unaccent(lower(s.nome_servico)), f_unaccent(lower(:termo))) DESC, s.servico_id",
+            nativeQuery = true)
+    List<Servico> searchByNomeOrderByRelevancia(@Param("termo") String termo, Pageable pageable);
+
+    Slice<Servico> findAllBy(Pageable pageable);
+
+    Slice<Servico> findByServicoIdGreaterThan(Long servicoId, Pageable pageable);
 }
@@ -1,7 +1,11 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.TagServico;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,7 +13,26 @@ import java.util.Optional;
 public interface TagServicoRepository extends JpaRepository<TagServico, Long> {
     Optional<TagServico> findById(Long tagServicoId);
 
+    // Marca d'água da tabela inteira (quantidade-soma das versões-maior id): muda em todo insert, update
+    // e delete, então serve de ETag para qualquer página da listagem sem carregar as entidades
+    @Query("SELECT CONCAT(CAST(COUNT(t) AS String), '-', CAST(COALESCE(SUM(t.versao), 0) AS String), '-', " +
+            "CAST(COALESCE(MAX(t.tagServicoId), 0) AS String)) FROM TagServico t")
+    String findVersaoColecao();
+
     List<TagServico> findByNomeLikeIgnoreCase(String nome);
 
+    List<TagServico> findByNomeLikeIgnoreCase(String nome, Pageable pageable);
+
     boolean existsByNomeIgnoreCase(String nome);
+
+    // Busca sem acento usando o índice GIN de trigramas (idx_tag_servico_nome_trgm)
+    @Query(value = "SELECT t.* FROM tag_servico t " +
+            "WHERE f_unaccent(lower(t.nome)) LIKE '%' || f_unaccent(lower(:termo)) || '%' " +
+            "ORDER BY t.tag_servico_id",
+            nativeQuery = true)
+    List<TagServico> searchByNome(@Param("termo") String termo);
+
+    Slice<TagServico> findAllBy(Pageable pageable);
+
+    Slice<TagServico> findByTagServicoIdGreaterThan(Long tagServicoId, Pageable pageable);
 }
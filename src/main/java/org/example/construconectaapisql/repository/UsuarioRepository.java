@@ -1,7 +1,11 @@
 package org.example.construconectaapisql.repository;
 
 import org.example.construconectaapisql.model.Usuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,15 +13,34 @@ import java.util.Optional;
 public interface UsuarioRepository extends JpaRepository<Usuario, String> {
     Optional<Usuario> findById(String uid);
 
-    List<Usuario> findByNomeCompletoLikeIgnoreCase(String nomeCompleto);
+    List<Usuario> findByNomeCompletoLikeIgnoreCase(String nomeCompleto, Pageable pageable);
 
-    List<Usuario> findByNomeUsuarioLikeIgnoreCase(String nomeUsuario);
+    List<Usuario> findByNomeUsuarioLikeIgnoreCase(String nomeUsuario, Pageable pageable);
 
-    List<Usuario> findByCpf(String cpf);
+    List<Usuario> findByCpf(String cpf, Pageable pageable);
 
-    List<Usuario> findByEmailLikeIgnoreCase(String email);
+    List<Usuario> findByEmailLikeIgnoreCase(String email, Pageable pageable);
 
-    List<Usuario> findByTelefone(String telefone);
+    List<Usuario> findByTelefone(String telefone, Pageable pageable);
 
-    List<Usuario> findByGenero(Integer genero);
+    List<Usuario> findByGenero(Integer genero, Pageable pageable);
+
+    Slice<Usuario> findAllBy(Pageable pageable);
+
+    Slice<Usuario> findByUidGreaterThan(String uid, Pageable pageable);
+
+    // Uma linha com quatro booleanos (cpf, email, nome_usuario, telefone): true quando outro usuário já usa o valor.
+    // Cada condição do OR usa o seu índice único (uk_usuario_*), então a consulta não varre a tabela.
+    @Query(value = "SELECT COALESCE(bool_or(u.cpf = :cpf), false), " +
+            "COALESCE(bool_or(lower(u.email) = lower(:email)), false), " +
+            "COALESCE(bool_or(lower(u.nome_usuario) = lower(:nomeUsuario)), false), " +
+            "COALESCE(bool_or(u.telefone = :telefone), false) " +
+            "FROM usuario u " +
+            "WHERE u.uid <> :uid AND (u.cpf = :cpf OR lower(u.email) = lower(:email) " +
+            "OR lower(u.nome_usuario) = lower(:nomeUsuario) OR u.telefone = :telefone)", nativeQuery = true)
+    List<Object[]> findConflitos(@Param("uid") String uid,
+                                 @Param("cpf") String cpf,
+                                 @Param("email") String email,
+                                 @Param("nomeUsuario") String nomeUsuario,
+                                 @Param("telefone") String telefone);
 }
@@ -0,0 +1,14 @@
+package org.example.construconectaapisql.service;
+
+// Utilitário para montar termos de busca usados nas consultas LIKE dos repositórios
+public final class BuscaTexto {
+    private BuscaTexto() {}
+
+    // Escapa os curingas do LIKE para que o termo seja comparado literalmente, como no contains()
+    public static String escaparLike(String termo) {
+        return termo
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -5,11 +5,18 @@ import org.example.construconectaapisql.model.Produto;
 import org.example.construconectaapisql.repository.CarrinhoRepository;
 import org.example.construconectaapisql.repository.ProdutoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CarrinhoService {
@@ -25,8 +32,12 @@ public class CarrinhoService {
         this.produtoRepository = produtoRepository;
     }
 
-    public List<Carrinho> findAllShoppingCarts() {
-        return carrinhoRepository.findAll();
+    public Slice<Carrinho> findAllShoppingCarts(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return carrinhoRepository.findByCarrinhoIdGreaterThan(afterId, Paginacao.aposId(pageable, "carrinhoId"));
+        }
+        return carrinhoRepository.findAllBy(pageable);
     }
 
     @Transactional
@@ -51,11 +62,78 @@ public class CarrinhoService {
         Produto produto = produtoRepository.findById(Long.valueOf(carrinho.getProduto()))
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
 
-        // Garantir que a quantidade seja válida (maior que 0)
-        if (carrinho.getQuantidade() == null || carrinho.getQuantidade() <= 0) {
+        validateQuantity(carrinho.getQuantidade());
+        applyProductValues(carrinho, produto);
+
+        return carrinhoRepository.save(carrinho);
+    }
+
+    // Adiciona ou atualiza vários itens do carrinho do usuário numa única transação
+    @Transactional
+    public List<Carrinho> saveShoppingCartItems(String usuario, List<Carrinho> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um item para o carrinho.");
+        }
+
+        // Todos os itens ficam no mesmo carrinho (identificador) do usuário
+        List<Carrinho> carrinhosExistentes = carrinhoRepository.findByUsuario(usuario);
+        Integer identificador = carrinhosExistentes.isEmpty()
+                ? generateNewIdentifierForUser(usuario)
+                : carrinhosExistentes.get(0).getIdentificador();
+
+        // Itens de um produto que já está no carrinho atualizam a linha existente
+        Map<Integer, Carrinho> linhasPorProduto = new HashMap<>();
+        for (Carrinho existente : carrinhosExistentes) {
+            linhasPorProduto.putIfAbsent(existente.getProduto(), existente);
+        }
+
+        Set<Long> produtoIds = new HashSet<>();
+        for (Carrinho item : itens) {
+            if (item.getProduto() == null) {
+                throw new IllegalArgumentException("O produto é obrigatório em todos os itens.");
+            }
+            validateQuantity(item.getQuantidade());
+            produtoIds.add(Long.valueOf(item.getProduto()));
+        }
+
+        // Carrega todos os produtos referenciados com um único select
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllById(produtoIds)) {
+            produtos.put(produto.getProdutoId(), produto);
+        }
+
+        Map<Integer, Carrinho> alterados = new LinkedHashMap<>();
+        for (Carrinho item : itens) {
+            Produto produto = produtos.get(Long.valueOf(item.getProduto()));
+            if (produto == null) {
+                throw new RuntimeException("Produto não encontrado: " + item.getProduto());
+            }
+
+            Carrinho linha = linhasPorProduto.get(item.getProduto());
+            if (linha == null) {
+                linha = new Carrinho();
+                linha.setUsuario(usuario);
+                linha.setIdentificador(identificador);
+                linha.setProduto(item.getProduto());
+                linhasPorProduto.put(item.getProduto(), linha);
+            }
+            linha.setQuantidade(item.getQuantidade());
+            applyProductValues(linha, produto);
+            alterados.put(item.getProduto(), linha);
+        }
+
+        // Os inserts saem em lote (hibernate.jdbc.batch_size), com ids pré-alocados pela sequence
+        return carrinhoRepository.saveAll(alterados.values());
+    }
+
+    // Garantir que a quantidade seja válida (maior que 0)
+    private void validateQuantity(Integer quantidade) {
+        if (quantidade == null || quantidade <= 0) {
             throw new IllegalArgumentException("A quantidade do produto no carrinho deve ser maior que 0.");
         }
+    }
 
+    static void applyProductValues(Carrinho carrinho, Produto produto) {
         // Calcular o valor total (preço * desconto * quantidade)
         BigDecimal precoComDesconto = produto.getPreco().multiply(BigDecimal.ONE.subtract(produto.getDesconto()));
         BigDecimal valorTotal = precoComDesconto.multiply(new BigDecimal(carrinho.getQuantidade()));
@@ -63,17 +141,14 @@ public class CarrinhoService {
         // Definir o valor total e a imagem, ignorando se o usuário enviou algo no body
         carrinho.setValorTotal(valorTotal);
         carrinho.setProdutoImg(produto.getImagem());
-
-        return carrinhoRepository.save(carrinho);
     }
 
 
     // Método auxiliar para gerar um novo identificador (baseado na lógica do usuário)
     public Integer generateNewIdentifierForUser(String usuarioId) {
-        // Caso o usuário não tenha carrinhos, gera um novo identificador
-        // Neste caso, simplesmente obtemos o maior identificador existente e somamos 1
-        Integer maxIdentificador = carrinhoRepository.findMaxIdentificador();
-        return (maxIdentificador != null) ? maxIdentificador + 1 : 1;
+        // O próximo valor vem da sequence carrinho_identificador_seq, então requisições
+        // concorrentes nunca recebem o mesmo identificador
+        return Math.toIntExact(carrinhoRepository.nextIdentificador());
     }
 
     public Carrinho findShoppingCartById(Long carrinhoId) {
@@ -81,16 +156,16 @@ public class CarrinhoService {
                 .orElseThrow(() -> new RuntimeException("Carrinho não encontrado."));
     }
 
-    public List<Carrinho> findByUserId(String usuarioId) {
-        return carrinhoRepository.findByUsuario(usuarioId);
+    public List<Carrinho> findByUserId(String usuarioId, Pageable pageable) {
+        return carrinhoRepository.findByUsuario(usuarioId, pageable);
     }
 
-    public List<Carrinho> findByProductId(Integer produtoId) {
-        return carrinhoRepository.findByProduto(produtoId);
+    public List<Carrinho> findByProductId(Integer produtoId, Pageable pageable) {
+        return carrinhoRepository.findByProduto(produtoId, pageable);
     }
 
-    public List<Carrinho> findByIdentifier(Integer identificador) {
-        return carrinhoRepository.findByIdentificador(identificador);
+    public List<Carrinho> findByIdentifier(Integer identificador, Pageable pageable) {
+        return carrinhoRepository.findByIdentificador(identificador, pageable);
     }
 
     @Transactional
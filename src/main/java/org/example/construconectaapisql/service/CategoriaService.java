@@ -2,6 +2,11 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.Categoria;
 import org.example.construconectaapisql.repository.CategoriaRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,31 +20,57 @@ public class CategoriaService {
         this.categoriaRepository = categoriaRepository;
     }
 
-    public List<Categoria> findAllCategories() {
-        return categoriaRepository.findAll();
+    @Cacheable(cacheNames = "categorias", sync = true)
+    public Slice<Categoria> findAllCategories(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return categoriaRepository.findByCategoriaIdGreaterThan(afterId, Paginacao.aposId(pageable, "categoriaId"));
+        }
+        return categoriaRepository.findAllBy(pageable);
+    }
+
+    // ETag de qualquer página de /categories: muda quando alguma categoria é criada, alterada ou removida
+    public String findCategoriesEtag() {
+        return "categorias-" + categoriaRepository.findVersaoColecao();
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "categorias", allEntries = true),
+            @CacheEvict(cacheNames = "categoria", allEntries = true)
+    })
     public Categoria saveCategories(Categoria categoria) {
         boolean isUpdate = categoria.getCategoriaId() != null && categoriaRepository.existsById(categoria.getCategoriaId());
         validateUniqueFields(categoria, isUpdate);
         return categoriaRepository.save(categoria);
     }
 
+    @Cacheable(cacheNames = "categoria", key = "#categoriaId", sync = true)
     public Categoria findCategoriesById(Long categoriaId) {
         return categoriaRepository.findById(categoriaId)
                 .orElseThrow(() -> new RuntimeException("Cliente não encontrado."));
     }
 
+    // Carrega direto do banco para edição: a instância em cache não pode ser alterada pelo PATCH
+    @CacheEvict(cacheNames = "categoria", key = "#categoriaId")
+    public Categoria findCategoriesByIdForUpdate(Long categoriaId) {
+        return categoriaRepository.findById(categoriaId)
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado."));
+    }
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "categorias", allEntries = true),
+            @CacheEvict(cacheNames = "categoria", key = "#categoriaId")
+    })
     public Categoria deleteCategory(Long categoriaId) {
         Categoria categoria = findCategoriesById(categoriaId);
         categoriaRepository.delete(categoria);
         return categoria;
     }
 
-    public List<Categoria> findByNome(String nome) {
-        return categoriaRepository.findByNomeLikeIgnoreCase(nome);
+    public List<Categoria> findByNome(String nome, Pageable pageable) {
+        return categoriaRepository.findByNomeLikeIgnoreCase(nome, pageable);
     }
 
     public boolean existsByNameIgnoreCase(String nome) {
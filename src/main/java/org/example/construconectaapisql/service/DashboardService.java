@@ -0,0 +1,153 @@
+package org.example.construconectaapisql.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.model.Servico;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+
+// Monta numa chamada só o que a tela inicial do aplicativo buscava em oito endpoints.
+// Cada seção roda em paralelo numa thread do pool próprio, dentro de uma transação somente leitura.
+// O pool é pequeno de propósito: cada seção segura uma conexão do Hikari enquanto consulta, então
+// ele não pode crescer junto com as requisições. As seções excedentes esperam numa fila limitada, e o tempo
+// na fila conta no prazo; com a fila cheia a requisição termina como tempo esgotado, sem rodar nada na
+// thread dela (onde o prazo não teria como pará-la).
+@Service
+public class DashboardService {
+    // Mesmo teto de spring.data.web.pageable.max-page-size dos endpoints de listagem
+    private static final int LIMITE_MAXIMO = 500;
+
+    private final Map<String, BiFunction<String, Integer, Object>> secoes = new LinkedHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public DashboardService(
+            UsuarioService usuarioService,
+            EnderecoUsuarioService enderecoUsuarioService,
+            CarrinhoService carrinhoService,
+            PedidoService pedidoService,
+            PlanoUsuarioService planoUsuarioService,
+            ProdutoService produtoService,
+            ServicoService servicoService,
+            PagamentoPlanoService pagamentoPlanoService,
+            PlatformTransactionManager transactionManager,
+            @Value("${construconecta.dashboard.threads:8}") int threads,
+            @Value("${construconecta.dashboard.fila:64}") int fila,
+            @Value("${construconecta.dashboard.timeout-ms:5000}") long timeoutMillis
+    ) {
+        // Mesma ordem e mesmas consultas dos endpoints /findByUserId de cada recurso
+        secoes.put("usuario", (uid, limite) -> usuarioService.findUsersByUid(uid));
+        secoes.put("enderecos", (uid, limite) ->
+                enderecoUsuarioService.findByUserId(uid, pagina(limite, "enderecoUsuarioId")));
+        secoes.put("carrinhos", (uid, limite) -> carrinhoService.findByUserId(uid, pagina(limite, "carrinhoId")));
+        secoes.put("pedidos", (uid, limite) -> pedidoService.findByUsuario(uid, pagina(limite, "pedidoId")));
+        secoes.put("planos", (uid, limite) ->
+                planoUsuarioService.findUserPlansByUserId(uid, pagina(limite, "planoUsuarioId")));
+        secoes.put("produtos", (uid, limite) -> {
+            List<Produto> produtos = produtoService.findByUserId(uid, pagina(limite, "produtoId"));
+            // As categorias são lazy e a resposta é serializada fora desta transação; carrega em lote aqui
+            produtos.forEach(produto -> Hibernate.initialize(produto.getCategorias()));
+            return produtos;
+        });
+        secoes.put("servicos", (uid, limite) -> {
+            List<Servico> servicos = servicoService.findByUserId(uid, pagina(limite, "servicoId"));
+            servicos.forEach(servico -> Hibernate.initialize(servico.getTagServicos()));
+            return servicos;
+        });
+        secoes.put("pagamentosPlano", (uid, limite) ->
+                pagamentoPlanoService.findByUserId(uid, pagina(limite, "pagamentoPlanoId")));
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // O mesmo prazo vira timeout da transação: o Spring o aplica às consultas JPA, e o driver cancela no
+        // PostgreSQL a que passar dele. Interromper a thread sozinho não solta a conexão presa num read do socket
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Sem campos (ou vazio) traz todas as seções; a resposta segue sempre a ordem acima
+    public Map<String, Object> findDashboard(String uid, Collection<String> campos, int limite) {
+        Set<String> pedidas = new HashSet<>();
+        if (campos != null) {
+            for (String campo : campos) {
+                if (!campo.isBlank()) {
+                    pedidas.add(campo.trim());
+                }
+            }
+        }
+        for (String campo : pedidas) {
+            if (!secoes.containsKey(campo)) {
+                throw new IllegalArgumentException("Seção desconhecida: " + campo
+                        + ". Use: " + String.join(", ", secoes.keySet()) + ".");
+            }
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        // executor.submit devolve um FutureTask: o cancel(true) interrompe a seção que já está rodando
+        // e tira da vez a que ainda está na fila
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, Future<Object>> consultas = new LinkedHashMap<>();
+        try {
+            secoes.forEach((secao, consulta) -> {
+                if (pedidas.isEmpty() || pedidas.contains(secao)) {
+                    consultas.put(secao, executor.submit(
+                            () -> transactionTemplate.execute(status -> consulta.apply(uid, limite))));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cancelar(consultas);
+            throw new TempoEsgotadoException("Tempo esgotado ao montar o painel do usuário: servidor sobrecarregado.");
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Future<Object>> consulta : consultas.entrySet()) {
+                dashboard.put(consulta.getKey(),
+                        consulta.getValue().get(prazo - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            cancelar(consultas);
+            throw new TempoEsgotadoException("Tempo esgotado ao montar o painel do usuário.");
+        } catch (ExecutionException e) {
+            // As outras seções não servem mais; repassa a exceção da que falhou (ex.: "Cliente não encontrado.")
+            cancelar(consultas);
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelar(consultas);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Montagem do painel do usuário interrompida.");
+        }
+        return dashboard;
+    }
+
+    private static void cancelar(Map<String, Future<Object>> consultas) {
+        consultas.values().forEach(consulta -> consulta.cancel(true));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private static Pageable pagina(int limite, String id) {
+        return PageRequest.of(0, limite, Sort.by(id));
+    }
+}
@@ -2,6 +2,8 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.EnderecoUsuario;
 import org.example.construconectaapisql.repository.EnderecoUsuarioRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,8 +18,12 @@ public class EnderecoUsuarioService {
     }
 
     // CRUD
-    public List<EnderecoUsuario> findAllAddress() {
-        return enderecoUsuarioRepository.findAll();
+    public Slice<EnderecoUsuario> findAllAddress(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return enderecoUsuarioRepository.findByEnderecoUsuarioIdGreaterThan(afterId, Paginacao.aposId(pageable, "enderecoUsuarioId"));
+        }
+        return enderecoUsuarioRepository.findAllBy(pageable);
     }
 
     @Transactional
@@ -25,6 +31,14 @@ public class EnderecoUsuarioService {
         return enderecoUsuarioRepository.save(address);
     }
 
+    // Ids vêm da sequence em bloco, então o Hibernate envia os inserts em lote (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<EnderecoUsuario> saveAllAddresses(List<EnderecoUsuario> addresses) {
+        Lote.validar(addresses);
+        addresses.forEach(address -> address.setEnderecoUsuarioId(null));
+        return enderecoUsuarioRepository.saveAll(addresses);
+    }
+
     @Transactional
     public EnderecoUsuario deleteAddress(Long enderecoUsuarioId) {
         EnderecoUsuario address = findAddressById(enderecoUsuarioId);
@@ -38,27 +52,27 @@ public class EnderecoUsuarioService {
     }
 
     // Others
-    public List<EnderecoUsuario> findByCep(String cep) {
-        return enderecoUsuarioRepository.findByCep(cep);
+    public List<EnderecoUsuario> findByCep(String cep, Pageable pageable) {
+        return enderecoUsuarioRepository.findByCep(cep, pageable);
     }
 
-    public List<EnderecoUsuario> findByUf(String uf) {
-        return enderecoUsuarioRepository.findByUf(uf);
+    public List<EnderecoUsuario> findByUf(String uf, Pageable pageable) {
+        return enderecoUsuarioRepository.findByUf(uf, pageable);
     }
 
-    public List<EnderecoUsuario> findByCidade(String cidade) {
-        return enderecoUsuarioRepository.findByCidade(cidade);
+    public List<EnderecoUsuario> findByCidade(String cidade, Pageable pageable) {
+        return enderecoUsuarioRepository.findByCidade(cidade, pageable);
     }
 
-    public List<EnderecoUsuario> findByBairro(String bairro) {
-        return enderecoUsuarioRepository.findByBairro(bairro);
+    public List<EnderecoUsuario> findByBairro(String bairro, Pageable pageable) {
+        return enderecoUsuarioRepository.findByBairro(bairro, pageable);
     }
 
-    public List<EnderecoUsuario> findByRua(String rua) {
-        return enderecoUsuarioRepository.findByRua(rua);
+    public List<EnderecoUsuario> findByRua(String rua, Pageable pageable) {
+        return enderecoUsuarioRepository.findByRua(rua, pageable);
     }
 
-    public List<EnderecoUsuario> findByUserId(String usuario) {
-        return enderecoUsuarioRepository.findByUsuario(usuario);
+    public List<EnderecoUsuario> findByUserId(String usuario, Pageable pageable) {
+        return enderecoUsuarioRepository.findByUsuario(usuario, pageable);
     }
 }
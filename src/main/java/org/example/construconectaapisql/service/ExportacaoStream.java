@@ -0,0 +1,92 @@
+package org.example.construconectaapisql.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Escreve o resultado de uma consulta em Stream direto na resposta, linha a linha.
+// O contexto de persistência é limpo a cada N linhas, então a memória não cresce com o tamanho da tabela.
+@Component
+public class ExportacaoStream {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final int limparACada;
+
+    public ExportacaoStream(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${construconecta.exportacao.limpar-a-cada:1000}") int limparACada
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        // Datas em ISO (2024-10-01), como no NDJSON e na API; o padrão do CsvMapper seria [2024,10,1]
+        this.csvMapper = CsvMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.limparACada = limparACada;
+    }
+
+    // A consulta só roda quando o corpo começa a ser escrito, já na thread assíncrona e
+    // dentro de uma transação própria (o driver do PostgreSQL só usa cursor fora do autocommit)
+    public <T> StreamingResponseBody exportar(Supplier<Stream<T>> consulta, Class<T> tipo, FormatoExportacao formato) {
+        return saida -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                escrever(consulta, escritor(tipo, formato), formato, saida);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void escrever(Supplier<Stream<T>> consulta, ObjectWriter escritor,
+                              FormatoExportacao formato, OutputStream saida) throws IOException {
+        long linhas = 0;
+        try (Stream<T> registros = consulta.get();
+             SequenceWriter writer = escritor.writeValues(saida)) {
+            for (T registro : (Iterable<T>) registros::iterator) {
+                writer.write(registro);
+                if (++linhas % limparACada == 0) {
+                    // Libera as entidades já escritas e envia o que está no buffer
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        if (formato == FormatoExportacao.NDJSON && linhas > 0) {
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+
+    private ObjectWriter escritor(Class<?> tipo, FormatoExportacao formato) {
+        ObjectWriter escritor = switch (formato) {
+            case NDJSON -> objectMapper.writerFor(tipo).withRootValueSeparator("\n");
+            case CSV -> csvMapper.writerFor(tipo).with(csvMapper.schemaFor(tipo).withHeader());
+        };
+        // Sem flush a cada linha e sem fechar o stream da resposta
+        return escritor
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
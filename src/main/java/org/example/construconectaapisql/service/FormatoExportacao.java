@@ -0,0 +1,26 @@
+package org.example.construconectaapisql.service;
+
+import org.springframework.http.MediaType;
+
+// Formatos aceitos nos endpoints /export
+public enum FormatoExportacao {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final MediaType mediaType;
+
+    FormatoExportacao(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    public static FormatoExportacao from(String formato) {
+        for (FormatoExportacao valor : values()) {
+            if (valor.name().equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido: " + formato + ". Use ndjson ou csv.");
+    }
+}
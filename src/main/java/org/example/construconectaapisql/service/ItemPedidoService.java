@@ -2,23 +2,37 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.ItemPedido;
 import org.example.construconectaapisql.repository.ItemPedidoRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @Service
 public class ItemPedidoService {
     private final ItemPedidoRepository itemPedidoRepository;
+    private final ExportacaoStream exportacaoStream;
 
     public ItemPedidoService(
-            ItemPedidoRepository itemPedidoRepository
+            ItemPedidoRepository itemPedidoRepository,
+            ExportacaoStream exportacaoStream
     ) {
         this.itemPedidoRepository = itemPedidoRepository;
+        this.exportacaoStream = exportacaoStream;
     }
 
-    public List<ItemPedido> findAllOrderItems() {
-        return itemPedidoRepository.findAll();
+    public Slice<ItemPedido> findAllOrderItems(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return itemPedidoRepository.findByItemPedidoIdGreaterThan(afterId, Paginacao.aposId(pageable, "itemPedidoId"));
+        }
+        return itemPedidoRepository.findAllBy(pageable);
+    }
+
+    public StreamingResponseBody exportOrderItems(FormatoExportacao formato) {
+        return exportacaoStream.exportar(itemPedidoRepository::streamAllByOrderByItemPedidoId, ItemPedido.class, formato);
     }
 
     @Transactional
@@ -26,6 +40,14 @@ public class ItemPedidoService {
         return itemPedidoRepository.save(orderItem);
     }
 
+    // Ids vêm da sequence em bloco, então o Hibernate envia os inserts em lote (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<ItemPedido> saveAllOrderItems(List<ItemPedido> orderItems) {
+        Lote.validar(orderItems);
+        orderItems.forEach(item -> item.setItemPedidoId(null));
+        return itemPedidoRepository.saveAll(orderItems);
+    }
+
     @Transactional
     public ItemPedido deleteOrderItems(Long orderItemId) {
         ItemPedido orderItem = findOrderItemsById(orderItemId);
@@ -38,7 +60,7 @@ public class ItemPedidoService {
                 .orElseThrow(() -> new RuntimeException("Item Pedido não encontrado."));
     }
 
-    public List<ItemPedido> findByProduct(Integer productId) { return itemPedidoRepository.findByProduto(productId); }
+    public List<ItemPedido> findByProduct(Integer productId, Pageable pageable) { return itemPedidoRepository.findByProduto(productId, pageable); }
 
-    public List<ItemPedido> findByOrder(Integer orderId) { return itemPedidoRepository.findByPedido(orderId); }
+    public List<ItemPedido> findByOrder(Integer orderId, Pageable pageable) { return itemPedidoRepository.findByPedido(orderId, pageable); }
 }
@@ -0,0 +1,22 @@
+package org.example.construconectaapisql.service;
+
+import java.util.List;
+
+// Regras das rotas /addAll, que gravam a lista inteira numa transação com inserts em lote
+public final class Lote {
+    public static final int MAXIMO_ITENS = 1000;
+
+    private Lote() {}
+
+    public static void validar(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um item.");
+        }
+        if (itens.size() > MAXIMO_ITENS) {
+            throw new IllegalArgumentException("No máximo " + MAXIMO_ITENS + " itens por requisição.");
+        }
+        if (itens.contains(null)) {
+            throw new IllegalArgumentException("A lista não pode conter itens nulos.");
+        }
+    }
+}
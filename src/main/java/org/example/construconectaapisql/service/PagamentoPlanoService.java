@@ -3,30 +3,35 @@ package org.example.construconectaapisql.service;
 import org.example.construconectaapisql.model.PagamentoPlano;
 import org.example.construconectaapisql.model.Plano;
 import org.example.construconectaapisql.repository.PagamentoPlanoRepository;
-import org.example.construconectaapisql.repository.PlanoRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class PagamentoPlanoService {
     private final PagamentoPlanoRepository pagamentoPlanoRepository;
-    private final PlanoRepository planoRepository; // Adicionando um repositório de Plano
+    private final PlanoService planoService; // Leitura do plano passa pelo cache do PlanoService
 
-    public PagamentoPlanoService(PagamentoPlanoRepository pagamentoPlanoRepository, PlanoRepository planoRepository) {
+    public PagamentoPlanoService(PagamentoPlanoRepository pagamentoPlanoRepository, PlanoService planoService) {
         this.pagamentoPlanoRepository = pagamentoPlanoRepository;
-        this.planoRepository = planoRepository; // Injetando o repositório de Plano
+        this.planoService = planoService;
     }
 
-    public List<PagamentoPlano> findAllPaymentsPlan() {
-        return pagamentoPlanoRepository.findAll();
+    public Slice<PagamentoPlano> findAllPaymentsPlan(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return pagamentoPlanoRepository.findByPagamentoPlanoIdGreaterThan(afterId, Paginacao.aposId(pageable, "pagamentoPlanoId"));
+        }
+        return pagamentoPlanoRepository.findAllBy(pageable);
     }
 
     public PagamentoPlano savePaymentPlan(PagamentoPlano pagamentoPlano) {
         // Buscando o plano associado pelo ID e garantindo que o valor do pagamento seja o valor do plano
-        Plano plano = planoRepository.findById(Long.valueOf(pagamentoPlano.getPlano()))
-                .orElseThrow(() -> new RuntimeException("Plano não encontrado para o ID fornecido"));
+        Plano plano = planoService.findPlanById(Long.valueOf(pagamentoPlano.getPlano()));
 
         // Definindo o valor do pagamento igual ao valor do plano
         pagamentoPlano.setValor(plano.getValor());
@@ -46,19 +51,24 @@ public class PagamentoPlanoService {
                 .orElseThrow(() -> new RuntimeException("Dados de Pagamento do Plano não encontrado."));
     }
 
-    public List<PagamentoPlano> findByPlanoId(Integer plano) {
-        return pagamentoPlanoRepository.findByPlano(plano);
+    public List<PagamentoPlano> findByPlanoId(Integer plano, Pageable pageable) {
+        return pagamentoPlanoRepository.findByPlano(plano, pageable);
     }
 
-    public List<PagamentoPlano> findByUserId(String usuario) {
-        return pagamentoPlanoRepository.findByUsuario(usuario);
+    public List<PagamentoPlano> findByUserId(String usuario, Pageable pageable) {
+        return pagamentoPlanoRepository.findByUsuario(usuario, pageable);
     }
 
-    public List<PagamentoPlano> findByDataPagamento(String dataPagamento) {
-        return pagamentoPlanoRepository.findByDataPagamento(dataPagamento);
+    public List<PagamentoPlano> findByDataPagamento(LocalDate dataPagamento, Pageable pageable) {
+        return pagamentoPlanoRepository.findByDataPagamento(dataPagamento, pageable);
     }
 
-    public List<PagamentoPlano> findByTipoPagamento(String tipoPagamento) {
-        return pagamentoPlanoRepository.findByTipoPagamento(tipoPagamento);
+    public List<PagamentoPlano> findByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return pagamentoPlanoRepository.findByDataPagamentoBetween(inicio, fim, pageable);
+    }
+
+    public List<PagamentoPlano> findByTipoPagamento(String tipoPagamento, Pageable pageable) {
+        return pagamentoPlanoRepository.findByTipoPagamento(tipoPagamento, pageable);
     }
 }
@@ -2,23 +2,38 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.PagamentoProduto;
 import org.example.construconectaapisql.repository.PagamentoProdutoRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class PagamentoProdutoService {
     private final PagamentoProdutoRepository pagamentoProdutoRepository;
+    private final ExportacaoStream exportacaoStream;
 
     public PagamentoProdutoService(
-            PagamentoProdutoRepository pagamentoProdutoRepository
+            PagamentoProdutoRepository pagamentoProdutoRepository,
+            ExportacaoStream exportacaoStream
     ) {
         this.pagamentoProdutoRepository = pagamentoProdutoRepository;
+        this.exportacaoStream = exportacaoStream;
     }
 
-    public List<PagamentoProduto> findAllProductPayment() {
-        return pagamentoProdutoRepository.findAll();
+    public Slice<PagamentoProduto> findAllProductPayment(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return pagamentoProdutoRepository.findByPagamentoProdutoIdGreaterThan(afterId, Paginacao.aposId(pageable, "pagamentoProdutoId"));
+        }
+        return pagamentoProdutoRepository.findAllBy(pageable);
+    }
+
+    public StreamingResponseBody exportProductPayments(FormatoExportacao formato) {
+        return exportacaoStream.exportar(pagamentoProdutoRepository::streamAllByOrderByPagamentoProdutoId, PagamentoProduto.class, formato);
     }
 
     @Transactional
@@ -38,20 +53,25 @@ public class PagamentoProdutoService {
                 .orElseThrow(() -> new RuntimeException("Dados de Pagamento de produto não encontrado."));
     }
 
-    public List<PagamentoProduto> findProductPaymentByPedido(Integer pedido) {
-        return pagamentoProdutoRepository.findByPedido(pedido);
+    public List<PagamentoProduto> findProductPaymentByPedido(Integer pedido, Pageable pageable) {
+        return pagamentoProdutoRepository.findByPedido(pedido, pageable);
+    }
+
+    public List<PagamentoProduto> findProductPaymentByUsuario(String usuario, Pageable pageable) {
+        return pagamentoProdutoRepository.findByUsuario(usuario, pageable);
     }
 
-    public List<PagamentoProduto> findProductPaymentByUsuario(String usuario) {
-        return pagamentoProdutoRepository.findByUsuario(usuario);
+    public List<PagamentoProduto> findProductPaymentByDataPagamento(LocalDate dataPagamento, Pageable pageable) {
+        return pagamentoProdutoRepository.findByDataPagamento(dataPagamento, pageable);
     }
 
-    public List<PagamentoProduto> findProductPaymentByDataPagamento(String dataPagamento) {
-        return pagamentoProdutoRepository.findByDataPagamento(dataPagamento);
+    public List<PagamentoProduto> findProductPaymentByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return pagamentoProdutoRepository.findByDataPagamentoBetween(inicio, fim, pageable);
     }
 
-    public List<PagamentoProduto> findProductPaymentByTipoPagamento(String tipoPagamento) {
-        return pagamentoProdutoRepository.findByTipoPagamento(tipoPagamento);
+    public List<PagamentoProduto> findProductPaymentByTipoPagamento(String tipoPagamento, Pageable pageable) {
+        return pagamentoProdutoRepository.findByTipoPagamento(tipoPagamento, pageable);
     }
 
 }
@@ -2,9 +2,12 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.PagamentoServico;
 import org.example.construconectaapisql.repository.PagamentoServicoRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -18,8 +21,12 @@ public class PagamentoServicoService {
     }
 
     // crud
-    public List<PagamentoServico> findAllPaymentsServices() {
-        return pagamentoServicoRepository.findAll();
+    public Slice<PagamentoServico> findAllPaymentsServices(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return pagamentoServicoRepository.findByPagamentoServicoIdGreaterThan(afterId, Paginacao.aposId(pageable, "pagamentoServicoId"));
+        }
+        return pagamentoServicoRepository.findAllBy(pageable);
     }
 
     @Transactional
@@ -40,19 +47,24 @@ public class PagamentoServicoService {
                 .orElseThrow(() -> new RuntimeException("Dados de Pagamento de Serviço não encontrado."));
     }
 
-    public List<PagamentoServico> findByServico(Integer servico) {
-        return pagamentoServicoRepository.findByServico(servico);
+    public List<PagamentoServico> findByServico(Integer servico, Pageable pageable) {
+        return pagamentoServicoRepository.findByServico(servico, pageable);
     }
 
     public List<PagamentoServico> findByUsuario(String usuario) {
         return pagamentoServicoRepository.findByUsuario(usuario);
     }
 
-    public List<PagamentoServico> findByTipoPagamento(String tipoPagamento) {
-        return pagamentoServicoRepository.findByTipoPagamentoLikeIgnoreCase(tipoPagamento);
+    public List<PagamentoServico> findByTipoPagamento(String tipoPagamento, Pageable pageable) {
+        return pagamentoServicoRepository.findByTipoPagamentoLikeIgnoreCase(tipoPagamento, pageable);
     }
 
-    public List<PagamentoServico> findByDataPagamento(String dataPagamento) {
-        return pagamentoServicoRepository.findByDataPagamento(dataPagamento);
+    public List<PagamentoServico> findByDataPagamento(LocalDate dataPagamento, Pageable pageable) {
+        return pagamentoServicoRepository.findByDataPagamento(dataPagamento, pageable);
+    }
+
+    public List<PagamentoServico> findByDataPagamentoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return pagamentoServicoRepository.findByDataPagamentoBetween(inicio, fim, pageable);
     }
 }
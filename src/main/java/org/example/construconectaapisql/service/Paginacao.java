@@ -0,0 +1,20 @@
+package org.example.construconectaapisql.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// Utilitário para os parâmetros page/size/sort recebidos pelos endpoints de listagem
+public final class Paginacao {
+    private Paginacao() {}
+
+    // Para a paginação por keyset a página é sempre a primeira depois do último id, ordenada pelo id
+    public static Pageable aposId(Pageable pageable, String propriedadeId) {
+        return PageRequest.of(0, pageable.getPageSize(), Sort.by(Sort.Direction.ASC, propriedadeId));
+    }
+
+    // Consultas nativas já definem a própria ordenação, então só page/size são aproveitados
+    public static Pageable semOrdenacao(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.ItemPedido;
+import org.example.construconectaapisql.model.PagamentoProduto;
+import org.example.construconectaapisql.model.Pedido;
+
+import java.util.List;
+
+// Resultado do checkout: o pedido com os itens e o pagamento gravados na mesma transação
+public class PedidoFinalizado {
+    private final Pedido pedido;
+    private final List<ItemPedido> itens;
+    private final PagamentoProduto pagamento;
+
+    public PedidoFinalizado(Pedido pedido, List<ItemPedido> itens, PagamentoProduto pagamento) {
+        this.pedido = pedido;
+        this.itens = itens;
+        this.pagamento = pagamento;
+    }
+
+    public Pedido getPedido() { return pedido; }
+
+    public List<ItemPedido> getItens() { return itens; }
+
+    public PagamentoProduto getPagamento() { return pagamento; }
+}
@@ -1,29 +1,72 @@
 package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.ItemPedido;
+import org.example.construconectaapisql.model.PagamentoProduto;
 import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.model.Produto;
 import org.example.construconectaapisql.repository.CarrinhoRepository;
+import org.example.construconectaapisql.repository.ItemPedidoRepository;
+import org.example.construconectaapisql.repository.PagamentoProdutoRepository;
 import org.example.construconectaapisql.repository.PedidoRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ReservaEstoqueRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class PedidoService {
     private final PedidoRepository pedidoRepository;
     private final CarrinhoRepository carrinhoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final PagamentoProdutoRepository pagamentoProdutoRepository;
+    private final ReservaEstoqueRepository reservaEstoqueRepository;
+    private final ExportacaoStream exportacaoStream;
 
     @Autowired
-    public PedidoService(PedidoRepository pedidoRepository, CarrinhoRepository carrinhoRepository) {
+    public PedidoService(
+            PedidoRepository pedidoRepository,
+            CarrinhoRepository carrinhoRepository,
+            ProdutoRepository produtoRepository,
+            ItemPedidoRepository itemPedidoRepository,
+            PagamentoProdutoRepository pagamentoProdutoRepository,
+            ReservaEstoqueRepository reservaEstoqueRepository,
+            ExportacaoStream exportacaoStream
+    ) {
         this.pedidoRepository = pedidoRepository;
         this.carrinhoRepository = carrinhoRepository;
+        this.produtoRepository = produtoRepository;
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.pagamentoProdutoRepository = pagamentoProdutoRepository;
+        this.reservaEstoqueRepository = reservaEstoqueRepository;
+        this.exportacaoStream = exportacaoStream;
     }
 
-    public List<Pedido> findAllOrders() {
-        return pedidoRepository.findAll();
+    public Slice<Pedido> findAllOrders(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return pedidoRepository.findByPedidoIdGreaterThan(afterId, Paginacao.aposId(pageable, "pedidoId"));
+        }
+        return pedidoRepository.findAllBy(pageable);
+    }
+
+    public StreamingResponseBody exportOrders(FormatoExportacao formato) {
+        return exportacaoStream.exportar(pedidoRepository::streamAllByOrderByPedidoId, Pedido.class, formato);
     }
 
     @Transactional
@@ -52,6 +95,114 @@ public class PedidoService {
         return pedidoRepository.save(pedido);
     }
 
+    // Checkout completo numa única transação: itens, baixa de estoque, pedido, pagamento e limpeza do carrinho.
+    // As unidades que o comprador já reservou saem da reserva; só o restante é baixado do estoque.
+    // Qualquer falha (ex.: estoque insuficiente) desfaz tudo.
+    @Transactional
+    public PedidoFinalizado checkout(Pedido pedido, String tipoPagamento) {
+        if (tipoPagamento == null || tipoPagamento.isBlank()) {
+            throw new IllegalArgumentException("O tipo de pagamento é obrigatório.");
+        }
+
+        // Linhas travadas: um checkout repetido do mesmo usuário (duplo envio) espera este terminar
+        List<Carrinho> carrinhos = carrinhoRepository.findByUsuarioParaCheckout(pedido.getUsuario());
+        if (carrinhos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum carrinho encontrado para o usuário: " + pedido.getUsuario());
+        }
+
+        // Soma as quantidades por produto, ordenado pelo id para que checkouts concorrentes
+        // travem as linhas de Produto sempre na mesma ordem
+        Map<Long, Integer> quantidades = new TreeMap<>();
+        for (Carrinho carrinho : carrinhos) {
+            quantidades.merge(Long.valueOf(carrinho.getProduto()), carrinho.getQuantidade(), Integer::sum);
+        }
+
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllById(quantidades.keySet())) {
+            produtos.put(produto.getProdutoId(), produto);
+        }
+
+        for (Long produtoId : quantidades.keySet()) {
+            if (!produtos.containsKey(produtoId)) {
+                throw new RuntimeException("Produto não encontrado: " + produtoId);
+            }
+        }
+
+        // Preço unitário congelado no momento da compra (preço com desconto do produto), já com as 2 casas
+        // da coluna e arredondado como no recalcularLote, para que a soma dos itens feche com o valor total
+        List<ItemPedido> itens = new ArrayList<>();
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantidades.entrySet()) {
+            Produto produto = produtos.get(entry.getKey());
+            BigDecimal precoUnitario = produto.getPreco().multiply(BigDecimal.ONE.subtract(produto.getDesconto()))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            ItemPedido item = new ItemPedido();
+            item.setProduto(Math.toIntExact(entry.getKey()));
+            item.setQuantidade(entry.getValue());
+            item.setPrecoUnitario(precoUnitario);
+            itens.add(item);
+
+            valorTotal = valorTotal.add(precoUnitario.multiply(new BigDecimal(entry.getValue())));
+        }
+
+        pedido.setPedidoId(null);
+        pedido.setValorTotal(valorTotal);
+        pedido.setValorFrete(BigDecimal.ZERO); // O frete será sempre 0
+        Pedido savedPedido = pedidoRepository.save(pedido);
+
+        Integer pedidoId = Math.toIntExact(savedPedido.getPedidoId());
+        baixarEstoque(savedPedido.getUsuario(), pedidoId, quantidades, produtos);
+
+        for (ItemPedido item : itens) {
+            item.setPedido(pedidoId);
+        }
+        List<ItemPedido> savedItens = itemPedidoRepository.saveAll(itens);
+
+        PagamentoProduto pagamento = new PagamentoProduto();
+        pagamento.setPedido(pedidoId);
+        pagamento.setUsuario(savedPedido.getUsuario());
+        pagamento.setDataPagamento(savedPedido.getDataPedido());
+        pagamento.setTipoPagamento(tipoPagamento);
+        pagamento.setValorTotal(valorTotal);
+        pagamento.setValorFrete(savedPedido.getValorFrete());
+        PagamentoProduto savedPagamento = pagamentoProdutoRepository.save(pagamento);
+
+        // Apaga só as linhas lidas; se alguma já tiver saído, o pedido não corresponde mais ao carrinho
+        List<Long> carrinhoIds = new ArrayList<>();
+        for (Carrinho carrinho : carrinhos) {
+            carrinhoIds.add(carrinho.getCarrinhoId());
+        }
+        if (carrinhoRepository.bulkDeleteByCarrinhoIds(carrinhoIds) != carrinhos.size()) {
+            throw new IllegalStateException("O carrinho do usuário foi alterado durante o checkout: " + savedPedido.getUsuario());
+        }
+
+        return new PedidoFinalizado(savedPedido, savedItens, savedPagamento);
+    }
+
+    // Usa as reservas do comprador e baixa do estoque só a diferença, com update condicional
+    // (estoque >= quantidade); unidades reservadas a mais do que o pedido voltam para o estoque
+    private void baixarEstoque(String usuario, Integer pedidoId, Map<Long, Integer> quantidades, Map<Long, Produto> produtos) {
+        List<Integer> produtoIds = new ArrayList<>();
+        for (Long produtoId : quantidades.keySet()) {
+            produtoIds.add(Math.toIntExact(produtoId));
+        }
+        Map<Long, Integer> reservadas = new HashMap<>();
+        for (Object[] linha : reservaEstoqueRepository.usarNoPedido(usuario, produtoIds, pedidoId, OffsetDateTime.now())) {
+            reservadas.put(((Number) linha[0]).longValue(), ((Number) linha[1]).intValue());
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantidades.entrySet()) {
+            int restante = entry.getValue() - reservadas.getOrDefault(entry.getKey(), 0);
+            if (restante > 0 && produtoRepository.decrementarEstoque(entry.getKey(), restante) == 0) {
+                throw new RuntimeException("Estoque insuficiente para o produto: " + produtos.get(entry.getKey()).getNomeProduto());
+            }
+            if (restante < 0) {
+                produtoRepository.incrementarEstoque(entry.getKey(), -restante);
+            }
+        }
+    }
+
     @Transactional
     public Pedido deleteOrders(Long pedidoId) {
         Pedido pedido = findOrdersBydId(pedidoId);
@@ -64,17 +215,27 @@ public class PedidoService {
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
     }
 
-    public List<Pedido> findByUsuario(String usuario) { return pedidoRepository.findByUsuario(usuario); }
+    public List<Pedido> findByUsuario(String usuario, Pageable pageable) { return pedidoRepository.findByUsuario(usuario, pageable); }
+
+    public List<Pedido> findByCupom(String cupom, Pageable pageable) {
+        return pedidoRepository.findByCupom(cupom, pageable);
+    }
+
+    public List<Pedido> findByDataPedido(LocalDate dataPedido, Pageable pageable) {
+        return pedidoRepository.findByDataPedido(dataPedido, pageable);
+    }
 
-    public List<Pedido> findByCupom(String cupom) {
-        return pedidoRepository.findByCupom(cupom);
+    public List<Pedido> findByDataPedidoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return pedidoRepository.findByDataPedidoBetween(inicio, fim, pageable);
     }
 
-    public List<Pedido> findByDataPedido(String dataPedido) {
-        return pedidoRepository.findByDataPedido(dataPedido);
+    public List<Pedido> findByDataEntrega(LocalDate dataEntrega, Pageable pageable) {
+        return pedidoRepository.findByDataEntrega(dataEntrega, pageable);
     }
 
-    public List<Pedido> findByDataEntrega(String dataEntrega) {
-        return pedidoRepository.findByDataEntrega(dataEntrega);
+    public List<Pedido> findByDataEntregaBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return pedidoRepository.findByDataEntregaBetween(inicio, fim, pageable);
     }
 }
@@ -0,0 +1,30 @@
+package org.example.construconectaapisql.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Validação dos intervalos from/to recebidos pelos endpoints de busca por período
+// e das datas (yyyy-MM-dd) recebidas nos PATCH
+public final class Periodo {
+    private Periodo() {}
+
+    public static void validar(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null) {
+            throw new IllegalArgumentException("Informe as datas inicial e final do período.");
+        }
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+    }
+
+    // A mensagem da exceção já cita o campo, para o controller devolver 400 direto com ela
+    public static LocalDate parse(String campo, Object valor) {
+        String texto = valor instanceof String ? (String) valor : String.valueOf(valor);
+        try {
+            return LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new DateTimeParseException("O campo '" + campo + "' deve ser uma data no formato yyyy-MM-dd: '"
+                    + texto + "'.", texto, e.getErrorIndex(), e);
+        }
+    }
+}
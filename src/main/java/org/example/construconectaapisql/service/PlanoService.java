@@ -2,7 +2,11 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.Plano;
 import org.example.construconectaapisql.repository.PlanoRepository;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,12 +24,26 @@ public class PlanoService {
     }
 
     // Retorna todos os planos cadastrados
-    public List<Plano> findAllPlans() {
-        return planoRepository.findAll(Sort.by(Sort.Direction.ASC, "planoId"));
+    @Cacheable(cacheNames = "planos", sync = true)
+    public Slice<Plano> findAllPlans(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return planoRepository.findByPlanoIdGreaterThan(afterId, Paginacao.aposId(pageable, "planoId"));
+        }
+        return planoRepository.findAllBy(pageable);
+    }
+
+    // ETag de qualquer página de /plans: muda quando algum plano é criado, alterado ou removido
+    public String findPlansEtag() {
+        return "planos-" + planoRepository.findVersaoColecao();
     }
 
     // Salva um novo plano com validação de campos únicos
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "planos", allEntries = true),
+            @CacheEvict(cacheNames = "plano", allEntries = true)
+    })
     public Plano savePlan(Plano plano) {
         boolean isUpdate = plano.getPlanoId() != null && planoRepository.existsById(plano.getPlanoId());
         validateUniqueFields(plano, isUpdate); // Validação de nome único
@@ -33,17 +51,29 @@ public class PlanoService {
     }
 
     // Busca um plano por ID
+    @Cacheable(cacheNames = "plano", key = "#planoId", sync = true)
     public Plano findPlanById(Long planoId) {
         return planoRepository.findById(planoId)
                 .orElseThrow(() -> new RuntimeException("Plano não encontrado."));
     }
 
-    public List<Plano> findByNomeCompletoLikeIgnoreCase(String nome) {
-        return planoRepository.findByNomeLikeIgnoreCase(nome);
+    // Carrega direto do banco para edição: a instância em cache não pode ser alterada pelo PATCH
+    @CacheEvict(cacheNames = "plano", key = "#planoId")
+    public Plano findPlanByIdForUpdate(Long planoId) {
+        return planoRepository.findById(planoId)
+                .orElseThrow(() -> new RuntimeException("Plano não encontrado."));
+    }
+
+    public List<Plano> findByNomeCompletoLikeIgnoreCase(String nome, Pageable pageable) {
+        return planoRepository.findByNomeLikeIgnoreCase(nome, pageable);
     }
 
     // Deleta um plano pelo ID
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "planos", allEntries = true),
+            @CacheEvict(cacheNames = "plano", key = "#planoId")
+    })
     public Plano deletePlan(Long planoId) {
         Plano plano = findPlanById(planoId);
         planoRepository.delete(plano);
@@ -2,9 +2,12 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.PlanoUsuario;
 import org.example.construconectaapisql.repository.PlanoUsuarioRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -18,8 +21,12 @@ public class PlanoUsuarioService {
     }
 
     // crud methods
-    public List<PlanoUsuario> findAllUserPlans() {
-        return planoUsuarioRepository.findAll();
+    public Slice<PlanoUsuario> findAllUserPlans(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return planoUsuarioRepository.findByPlanoUsuarioIdGreaterThan(afterId, Paginacao.aposId(pageable, "planoUsuarioId"));
+        }
+        return planoUsuarioRepository.findAllBy(pageable);
     }
 
     public PlanoUsuario saveUserPlan(PlanoUsuario planoUsuario) {
@@ -39,20 +46,30 @@ public class PlanoUsuarioService {
     }
 
     // others methods
-    public List<PlanoUsuario> findUserPlansByUserId(String usuario) {
-        return planoUsuarioRepository.findByUsuario(usuario);
+    public List<PlanoUsuario> findUserPlansByUserId(String usuario, Pageable pageable) {
+        return planoUsuarioRepository.findByUsuario(usuario, pageable);
     }
 
-    public List<PlanoUsuario> findUserPlanByPlanoId(Integer plano) {
-        return planoUsuarioRepository.findByPlano(plano);
+    public List<PlanoUsuario> findUserPlanByPlanoId(Integer plano, Pageable pageable) {
+        return planoUsuarioRepository.findByPlano(plano, pageable);
     }
 
-    public List<PlanoUsuario> findUserPlanByDataAssinatura(String dataAssinatura) {
-        return planoUsuarioRepository.findByDataAssinatura(dataAssinatura);
+    public List<PlanoUsuario> findUserPlanByDataAssinatura(LocalDate dataAssinatura, Pageable pageable) {
+        return planoUsuarioRepository.findByDataAssinatura(dataAssinatura, pageable);
     }
 
-    public List<PlanoUsuario> findUserPlanByDataFinal(String dataFinal) {
-        return planoUsuarioRepository.findByDataFinal(dataFinal);
+    public List<PlanoUsuario> findUserPlanByDataAssinaturaBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return planoUsuarioRepository.findByDataAssinaturaBetween(inicio, fim, pageable);
+    }
+
+    public List<PlanoUsuario> findUserPlanByDataFinal(LocalDate dataFinal, Pageable pageable) {
+        return planoUsuarioRepository.findByDataFinal(dataFinal, pageable);
+    }
+
+    public List<PlanoUsuario> findUserPlanByDataFinalBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        Periodo.validar(inicio, fim);
+        return planoUsuarioRepository.findByDataFinalBetween(inicio, fim, pageable);
     }
 
 }
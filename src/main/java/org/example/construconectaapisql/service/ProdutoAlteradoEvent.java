@@ -0,0 +1,18 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Produto;
+
+// Publicado pelo ProdutoService sempre que um produto é salvo ou removido
+public class ProdutoAlteradoEvent {
+    private final Produto produto;
+    private final boolean removido;
+
+    public ProdutoAlteradoEvent(Produto produto, boolean removido) {
+        this.produto = produto;
+        this.removido = removido;
+    }
+
+    public Produto getProduto() { return produto; }
+
+    public boolean isRemovido() { return removido; }
+}
@@ -0,0 +1,278 @@
+package org.example.construconectaapisql.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.ProdutoCard;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// Trilhos da tela inicial (Produto.topico) mantidos em memória: para cada tópico, os N primeiros produtos
+// já ordenados, em uma lista imutável com o seu ETag. A leitura não passa pelo banco.
+//   1 No Topo: mais novos | 2 Ofertas: maior desconto | 3 Relevantes: mais vendidos | 4 Recomendados: menor preço final
+// Cada save/remoção de produto atualiza o trilho na hora; a recarga periódica refaz a ordem com as
+// vendas novas e completa os trilhos que perderam itens (quem estava fora dos N primeiros só volta nela).
+@Component
+public class ProdutoFeed {
+    public static final int TOPICO_MINIMO = 1;
+    public static final int TOPICO_MAXIMO = 4;
+
+    private static final Comparator<Item> POR_ID = Comparator.comparing(Item::getProdutoId, Comparator.reverseOrder());
+    private static final List<Comparator<Item>> ORDEM = List.of(
+            POR_ID,
+            Comparator.comparing(Item::descontoOuZero, Comparator.reverseOrder()).thenComparing(POR_ID),
+            Comparator.comparingLong(Item::getVendidos).reversed().thenComparing(POR_ID),
+            Comparator.comparing(Item::precoFinal).thenComparing(POR_ID)
+    );
+
+    private final ProdutoRepository produtoRepository;
+    private final int tamanho;
+
+    // Trocado por inteiro a cada alteração; quem lê nunca vê uma lista pela metade
+    private volatile Map<Integer, Feed> feeds = Map.of();
+    private volatile boolean carregado = false;
+    private final Object lock = new Object();
+    // Uma carga por vez: o Tomcat já aceita requisições antes do ApplicationReadyEvent, e cargas simultâneas
+    // repetiriam a consulta e trocariam os buffers abaixo uma da outra. Não bloqueia o onProdutoAlterado
+    private final Object carga = new Object();
+    // Alterações recebidas enquanto a recarga consulta o banco, reaplicadas sobre o resultado dela
+    private List<Item> alteracoesDuranteCarga;
+    private List<Long> remocoesDuranteCarga;
+
+    public ProdutoFeed(
+            ProdutoRepository produtoRepository,
+            @Value("${construconecta.feed.tamanho:100}") int tamanho
+    ) {
+        this.produtoRepository = produtoRepository;
+        this.tamanho = tamanho;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${construconecta.feed.intervalo-ms:300000}",
+            fixedDelayString = "${construconecta.feed.intervalo-ms:300000}")
+    public void carregar() {
+        synchronized (carga) {
+            consultar();
+        }
+    }
+
+    private void consultar() {
+        synchronized (lock) {
+            alteracoesDuranteCarga = new ArrayList<>();
+            remocoesDuranteCarga = new ArrayList<>();
+        }
+
+        List<Object[]> linhas;
+        try {
+            linhas = produtoRepository.findFeeds(tamanho);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                alteracoesDuranteCarga = null;
+                remocoesDuranteCarga = null;
+            }
+            throw e;
+        }
+
+        Map<Integer, List<Item>> porTopico = new HashMap<>();
+        for (Object[] linha : linhas) {
+            Item item = new Item(((Number) linha[0]).longValue(), (String) linha[1], (BigDecimal) linha[2],
+                    (BigDecimal) linha[3], (String) linha[4], ((Number) linha[5]).intValue(),
+                    ((Number) linha[6]).longValue());
+            porTopico.computeIfAbsent(item.getTopico(), t -> new ArrayList<>()).add(item);
+        }
+
+        synchronized (lock) {
+            Map<Integer, Feed> novos = new HashMap<>();
+            for (int topico = TOPICO_MINIMO; topico <= TOPICO_MAXIMO; topico++) {
+                novos.put(topico, new Feed(porTopico.getOrDefault(topico, List.of())));
+            }
+            for (Long produtoId : remocoesDuranteCarga) {
+                novos = remover(novos, produtoId);
+            }
+            for (Item item : alteracoesDuranteCarga) {
+                novos = inserir(remover(novos, item.getProdutoId()), item);
+            }
+            alteracoesDuranteCarga = null;
+            remocoesDuranteCarga = null;
+            feeds = novos;
+            carregado = true;
+        }
+    }
+
+    // Só depois do commit, como o ProdutoNomeIndex, para não mostrar um produto que sofreu rollback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        Produto produto = event.getProduto();
+        if (produto.getProdutoId() == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (event.isRemovido()) {
+                if (remocoesDuranteCarga != null) {
+                    remocoesDuranteCarga.add(produto.getProdutoId());
+                }
+                if (carregado) {
+                    feeds = remover(feeds, produto.getProdutoId());
+                }
+                return;
+            }
+
+            // As vendas só mudam na recarga; um produto que já estava num trilho mantém as dele
+            Item item = Item.de(produto, vendidos(produto.getProdutoId()));
+            if (alteracoesDuranteCarga != null) {
+                alteracoesDuranteCarga.add(item);
+            }
+            if (carregado) {
+                feeds = inserir(remover(feeds, item.getProdutoId()), item);
+            }
+        }
+    }
+
+    public Feed getFeed(Integer topico) {
+        if (topico == null || topico < TOPICO_MINIMO || topico > TOPICO_MAXIMO) {
+            throw new IllegalArgumentException("O tópico deve ser 1 (No Topo), 2 (Ofertas), 3 (Relevantes), 4 (Recomendados).");
+        }
+        if (!carregado) {
+            // Espera a carga em andamento em vez de disparar outra; só consulta se ainda ninguém carregou
+            synchronized (carga) {
+                if (!carregado) {
+                    consultar();
+                }
+            }
+        }
+        return feeds.get(topico);
+    }
+
+    private long vendidos(Long produtoId) {
+        for (Feed feed : feeds.values()) {
+            for (Item item : feed.getProdutos()) {
+                if (item.getProdutoId().equals(produtoId)) {
+                    return item.getVendidos();
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static Map<Integer, Feed> remover(Map<Integer, Feed> atuais, Long produtoId) {
+        Map<Integer, Feed> novos = new HashMap<>(atuais);
+        atuais.forEach((topico, feed) -> {
+            if (feed.getProdutos().stream().anyMatch(item -> item.getProdutoId().equals(produtoId))) {
+                List<Item> itens = new ArrayList<>(feed.getProdutos());
+                itens.removeIf(item -> item.getProdutoId().equals(produtoId));
+                novos.put(topico, new Feed(itens));
+            }
+        });
+        return novos;
+    }
+
+    // Entra na posição da ordem do tópico; fica de fora se o trilho está cheio e ele seria o último
+    private Map<Integer, Feed> inserir(Map<Integer, Feed> atuais, Item item) {
+        Integer topico = item.getTopico();
+        if (topico == null || topico < TOPICO_MINIMO || topico > TOPICO_MAXIMO) {
+            return atuais;
+        }
+
+        List<Item> itens = new ArrayList<>(atuais.get(topico).getProdutos());
+        Comparator<Item> ordem = ORDEM.get(topico - 1);
+        int posicao = Collections.binarySearch(itens, item, ordem);
+        itens.add(posicao < 0 ? -posicao - 1 : posicao, item);
+        if (itens.size() > tamanho) {
+            if (itens.get(tamanho) == item) {
+                return atuais;
+            }
+            itens.remove(tamanho);
+        }
+
+        Map<Integer, Feed> novos = new HashMap<>(atuais);
+        novos.put(topico, new Feed(itens));
+        return novos;
+    }
+
+    // Lista imutável de um trilho e o ETag calculado sobre o seu conteúdo
+    public static class Feed {
+        private final List<Item> produtos;
+        private final String etag;
+
+        Feed(List<Item> produtos) {
+            this.produtos = List.copyOf(produtos);
+            long hash = 1;
+            for (Item item : this.produtos) {
+                hash = 31 * hash + item.conteudoHash();
+            }
+            this.etag = "\"" + Long.toHexString(hash) + "-" + this.produtos.size() + "\"";
+        }
+
+        public List<Item> getProdutos() { return produtos; }
+
+        public String getEtag() { return etag; }
+    }
+
+    // Mesmos campos do ProdutoCard, mais as vendas usadas na ordem de Relevantes
+    public static class Item implements ProdutoCard {
+        private final Long produtoId;
+        private final String nomeProduto;
+        private final BigDecimal preco;
+        private final BigDecimal desconto;
+        private final String imagem;
+        private final Integer topico;
+        private final long vendidos;
+
+        Item(Long produtoId, String nomeProduto, BigDecimal preco, BigDecimal desconto, String imagem,
+             Integer topico, long vendidos) {
+            this.produtoId = produtoId;
+            this.nomeProduto = nomeProduto;
+            this.preco = preco;
+            this.desconto = desconto;
+            this.imagem = imagem;
+            this.topico = topico;
+            this.vendidos = vendidos;
+        }
+
+        static Item de(Produto produto, long vendidos) {
+            return new Item(produto.getProdutoId(), produto.getNomeProduto(), produto.getPreco(),
+                    produto.getDesconto(), produto.getImagem(), produto.getTopico(), vendidos);
+        }
+
+        @Override
+        public Long getProdutoId() { return produtoId; }
+
+        @Override
+        public String getNomeProduto() { return nomeProduto; }
+
+        @Override
+        public BigDecimal getPreco() { return preco; }
+
+        @Override
+        public BigDecimal getDesconto() { return desconto; }
+
+        @Override
+        public String getImagem() { return imagem; }
+
+        @Override
+        public Integer getTopico() { return topico; }
+
+        @JsonIgnore
+        public long getVendidos() { return vendidos; }
+
+        BigDecimal descontoOuZero() {
+            return desconto != null ? desconto : BigDecimal.ZERO;
+        }
+
+        BigDecimal precoFinal() {
+            return preco.multiply(BigDecimal.ONE.subtract(descontoOuZero()));
+        }
+
+        int conteudoHash() {
+            return Objects.hash(produtoId, nomeProduto, preco, desconto, imagem, topico, vendidos);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Índice em memória dos nomes de produto já normalizados (sem acento e em minúsculas).
+// Cada trigrama aponta para os ids dos produtos que o contêm, então a busca por nome
+// resolve os ids sem carregar a tabela Produto.
+// Cada save/remoção atualiza o índice na hora; a recarga periódica traz o que foi gravado por outra instância.
+@Component
+public class ProdutoNomeIndex {
+    private static final int TAMANHO_NGRAM = 3;
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private final ProdutoRepository produtoRepository;
+
+    private final Map<Long, String> nomesPorId = new HashMap<>();
+    private final Map<String, Set<Long>> idsPorTrigrama = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean carregado = false;
+    // Uma carga por vez, como no ProdutoFeed: a do ApplicationReadyEvent, a agendada e a de uma busca que chega antes
+    private final Object carga = new Object();
+    // Alterações recebidas enquanto a recarga consulta o banco, reaplicadas sobre o resultado dela
+    // (nome nulo = produto removido)
+    private Map<Long, String> alteracoesDuranteCarga;
+
+    public ProdutoNomeIndex(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${construconecta.busca-nome.intervalo-ms:300000}",
+            fixedDelayString = "${construconecta.busca-nome.intervalo-ms:300000}")
+    public void carregar() {
+        synchronized (carga) {
+            consultar();
+        }
+    }
+
+    private void consultar() {
+        lock.writeLock().lock();
+        try {
+            alteracoesDuranteCarga = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Busca apenas id e nome, sem hidratar as entidades
+        List<Object[]> nomes;
+        try {
+            nomes = produtoRepository.findAllNomes();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                alteracoesDuranteCarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            nomesPorId.clear();
+            idsPorTrigrama.clear();
+            for (Object[] linha : nomes) {
+                indexar((Long) linha[0], (String) linha[1]);
+            }
+            for (Map.Entry<Long, String> alteracao : alteracoesDuranteCarga.entrySet()) {
+                remover(alteracao.getKey());
+                indexar(alteracao.getKey(), alteracao.getValue());
+            }
+            alteracoesDuranteCarga = null;
+            carregado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Mantém o índice em dia somente depois do commit, para não indexar um save que sofreu rollback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        Produto produto = event.getProduto();
+        if (produto.getProdutoId() == null) {
+            return;
+        }
+        String nomeProduto = event.isRemovido() ? null : produto.getNomeProduto();
+
+        lock.writeLock().lock();
+        try {
+            if (alteracoesDuranteCarga != null) {
+                alteracoesDuranteCarga.put(produto.getProdutoId(), nomeProduto);
+            }
+            if (carregado) {
+                remover(produto.getProdutoId());
+                indexar(produto.getProdutoId(), nomeProduto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Retorna os ids (em ordem crescente) dos produtos cujo nome contém o termo
+    public List<Long> buscarIds(String termo) {
+        if (!carregado) {
+            // Espera a carga em andamento em vez de disparar outra
+            synchronized (carga) {
+                if (!carregado) {
+                    consultar();
+                }
+            }
+        }
+
+        String termoNormalizado = normalizar(termo);
+        List<Long> ids = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (termoNormalizado.length() < TAMANHO_NGRAM) {
+                // Termos curtos não têm trigrama, então percorre os nomes já normalizados
+                for (Map.Entry<Long, String> entry : nomesPorId.entrySet()) {
+                    if (entry.getValue().contains(termoNormalizado)) {
+                        ids.add(entry.getKey());
+                    }
+                }
+            } else {
+                for (Long id : candidatos(termoNormalizado)) {
+                    if (nomesPorId.get(id).contains(termoNormalizado)) {
+                        ids.add(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.sort(ids);
+        return ids;
+    }
+
+    public static String normalizar(String input) {
+        // Remove os acentos
+        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(normalized).replaceAll("").toLowerCase();
+    }
+
+    // Interseção das listas de ids de cada trigrama do termo, começando pela menor
+    private Set<Long> candidatos(String termoNormalizado) {
+        List<Set<Long>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(termoNormalizado)) {
+            Set<Long> ids = idsPorTrigrama.get(trigrama);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> resultado = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+        return resultado;
+    }
+
+    private void indexar(Long produtoId, String nomeProduto) {
+        if (produtoId == null || nomeProduto == null) {
+            return;
+        }
+        String nomeNormalizado = normalizar(nomeProduto);
+        nomesPorId.put(produtoId, nomeNormalizado);
+        for (String trigrama : trigramas(nomeNormalizado)) {
+            idsPorTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(produtoId);
+        }
+    }
+
+    private void remover(Long produtoId) {
+        String nomeNormalizado = nomesPorId.remove(produtoId);
+        if (nomeNormalizado == null) {
+            return;
+        }
+        for (String trigrama : trigramas(nomeNormalizado)) {
+            Set<Long> ids = idsPorTrigrama.get(trigrama);
+            if (ids != null) {
+                ids.remove(produtoId);
+                if (ids.isEmpty()) {
+                    idsPorTrigrama.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_NGRAM <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + TAMANHO_NGRAM));
+        }
+        return trigramas;
+    }
+}
@@ -3,43 +3,74 @@ package org.example.construconectaapisql.service;
 import org.example.construconectaapisql.model.Categoria;
 import org.example.construconectaapisql.model.Produto;
 import org.example.construconectaapisql.repository.CategoriaRepository;
+import org.example.construconectaapisql.repository.ProdutoCard;
 import org.example.construconectaapisql.repository.ProdutoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class ProdutoService {
     private final ProdutoRepository produtoRepository;
+    private final ProdutoNomeIndex produtoNomeIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private CategoriaRepository categoriaRepository;
 
-    public ProdutoService(ProdutoRepository produtoRepository) {
+    public ProdutoService(
+            ProdutoRepository produtoRepository,
+            ProdutoNomeIndex produtoNomeIndex,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.produtoRepository = produtoRepository;
+        this.produtoNomeIndex = produtoNomeIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     // CRUD
     @Transactional
     public Produto saveProducts(Produto produto) {
-        return produtoRepository.save(produto);
+        Produto savedProduct = produtoRepository.save(produto);
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(savedProduct, false));
+        return savedProduct;
+    }
+
+    // Ids vêm da sequence em bloco, então o Hibernate envia os inserts em lote (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<Produto> saveAllProducts(List<Produto> produtos) {
+        Lote.validar(produtos);
+        produtos.forEach(produto -> produto.setProdutoId(null));
+        List<Produto> savedProducts = produtoRepository.saveAll(produtos);
+        for (Produto savedProduct : savedProducts) {
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(savedProduct, false));
+        }
+        return savedProducts;
     }
 
     @Transactional
     public Produto deleteProduct(Long produtoId) {
         Produto produto = findProductsById(produtoId);
         produtoRepository.delete(produto);
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produto, true));
         return produto;
     }
 
-    public List<Produto> findAllProducts() {
-        return produtoRepository.findAll(Sort.by(Sort.Direction.ASC, "produtoId"));
+    public Slice<Produto> findAllProducts(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return produtoRepository.findByProdutoIdGreaterThan(afterId, Paginacao.aposId(pageable, "produtoId"));
+        }
+        return produtoRepository.findAllBy(pageable);
     }
 
     // Others
@@ -48,41 +79,64 @@ public class ProdutoService {
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado."));
     }
 
-    public List<Produto> findByNomeProduto(String nomeProduto) {
-        String nomeNormalizado = normalizeString(nomeProduto);
-        List<Produto> produtos = produtoRepository.findAll();
-        return produtos.stream()
-                .filter(c -> normalizeString(c.getNomeProduto()).contains(nomeNormalizado))
-                .collect(Collectors.toList());
+    // ETag do produto a partir das versões do produto e das suas categorias; vazio se o produto não existe
+    public Optional<String> findProductEtag(Long produtoId) {
+        return produtoRepository.findVersaoById(produtoId).map(versao -> produtoId + "-" + versao);
     }
 
-    public List<Produto> findByCondicao(Boolean condicao) {
-        return produtoRepository.findByCondicao(condicao);
+    // Ordena pela similaridade calculada no banco (pg_trgm) em vez da ordem de id do índice em memória
+    public List<Produto> findByNomeProdutoOrderByRelevancia(String nomeProduto, Pageable pageable) {
+        return produtoRepository.searchByNomeOrderByRelevancia(
+                BuscaTexto.escaparLike(nomeProduto), Paginacao.semOrdenacao(pageable));
     }
 
-    public List<Produto> findByUserId(String usuario) {
-        return produtoRepository.findByUsuario(usuario);
+    public List<Produto> findByNomeProduto(String nomeProduto, Pageable pageable) {
+        // O índice resolve os ids em memória; só os produtos da página pedida são carregados do banco
+        List<Long> ids = produtoNomeIndex.buscarIds(nomeProduto);
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+        if (inicio == fim) {
+            return new ArrayList<>();
+        }
+        return produtoRepository.findByProdutoIdIn(ids.subList(inicio, fim), Sort.by(Sort.Direction.ASC, "produtoId"));
     }
 
-    public List<Produto> findByTopico(Integer topico) {
-        return produtoRepository.findByTopico(topico);
+    public List<Produto> findByCondicao(Boolean condicao, Pageable pageable) {
+        return produtoRepository.findByCondicao(condicao, pageable);
     }
 
-    public List<Produto> findByCategorias(List<Categoria> categorias) {
-        return produtoRepository.findByCategorias(new HashSet<>(categorias));
+    public List<Produto> findByUserId(String usuario, Pageable pageable) {
+        return produtoRepository.findByUsuario(usuario, pageable);
     }
 
-    public List<Categoria> findByCategoryName(String nome) {
-        String nomeNormalizado = normalizeString(nome);
-        List<Categoria> categorias = categoriaRepository.findAll();
-        return categorias.stream()
-                .filter(c -> normalizeString(c.getNome()).contains(nomeNormalizado))
-                .collect(Collectors.toList());
+    public List<Produto> findByTopico(Integer topico, Pageable pageable) {
+        return produtoRepository.findByTopico(topico, pageable);
     }
 
-    private String normalizeString(String input) {
-        // Remove os acentos
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-        return normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "").toLowerCase();
+    public List<Produto> findByCategorias(List<Categoria> categorias, Pageable pageable) {
+        return produtoRepository.findByCategorias(new HashSet<>(categorias), pageable);
+    }
+
+    public Slice<ProdutoCard> findAllProductCards(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            return produtoRepository.findCardsByProdutoIdGreaterThan(afterId, Paginacao.aposId(pageable, "produtoId"));
+        }
+        return produtoRepository.findCardsBy(pageable);
+    }
+
+    public List<ProdutoCard> findCardsByTopico(Integer topico, Pageable pageable) {
+        return produtoRepository.findCardsByTopico(topico, pageable);
+    }
+
+    public List<ProdutoCard> findCardsByCategorias(List<Categoria> categorias, Pageable pageable) {
+        List<Long> categoriaIds = new ArrayList<>();
+        for (Categoria categoria : categorias) {
+            categoriaIds.add(categoria.getCategoriaId());
+        }
+        return produtoRepository.findCardsByCategoriaIds(categoriaIds, pageable);
+    }
+
+    public List<Categoria> findByCategoryName(String nome) {
+        return categoriaRepository.searchByNome(BuscaTexto.escaparLike(nome));
     }
 }
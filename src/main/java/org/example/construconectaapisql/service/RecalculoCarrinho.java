@@ -0,0 +1,94 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.repository.CarrinhoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mantém Carrinho.valorTotal em dia quando o preço, o desconto ou a imagem de um produto mudam.
+// Os saves entram numa fila por produto; várias alterações seguidas do mesmo produto viram um recálculo só,
+// feito quando ele fica "espera-ms" sem mudar. O recálculo é um UPDATE ... FROM produto em lotes de
+// carrinho_id, cada lote na sua transação curta, para um reajuste em massa não travar a tabela carrinho.
+@Component
+public class RecalculoCarrinho {
+    private final CarrinhoRepository carrinhoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long esperaMillis;
+    private final int tamanhoLote;
+
+    // Produto pendente -> instante (ms) da última alteração
+    private final Map<Long, Long> pendentes = new ConcurrentHashMap<>();
+
+    public RecalculoCarrinho(
+            CarrinhoRepository carrinhoRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${construconecta.carrinho.recalculo.espera-ms:2000}") long esperaMillis,
+            @Value("${construconecta.carrinho.recalculo.lote:500}") int tamanhoLote
+    ) {
+        this.carrinhoRepository = carrinhoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.esperaMillis = esperaMillis;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // Só depois do commit, como o ProdutoFeed: o UPDATE lê o preço gravado em produto
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        Long produtoId = event.getProduto().getProdutoId();
+        if (produtoId == null || event.isRemovido()) {
+            return;
+        }
+        pendentes.put(produtoId, System.currentTimeMillis());
+    }
+
+    // Recalcula os produtos que já passaram da espera; retorna quantas linhas de carrinho mudaram
+    @Scheduled(fixedDelayString = "${construconecta.carrinho.recalculo.intervalo-ms:1000}")
+    public int processarPendentes() {
+        long limite = System.currentTimeMillis() - esperaMillis;
+        int alteradas = 0;
+        for (Map.Entry<Long, Long> pendente : pendentes.entrySet()) {
+            Long produtoId = pendente.getKey();
+            Long alteradoEm = pendente.getValue();
+            // Se o produto mudou de novo depois da leitura, a entrada fica para a próxima rodada
+            if (alteradoEm > limite || !pendentes.remove(produtoId, alteradoEm)) {
+                continue;
+            }
+            try {
+                alteradas += recalcular(produtoId);
+            } catch (RuntimeException e) {
+                // Volta para a fila e tenta de novo na próxima rodada
+                pendentes.putIfAbsent(produtoId, alteradoEm);
+                throw e;
+            }
+        }
+        return alteradas;
+    }
+
+    // Percorre os carrinhos do produto em lotes de "lote" linhas, um commit por lote
+    public int recalcular(Long produtoId) {
+        long aposId = 0;
+        int alteradas = 0;
+        while (true) {
+            final long cursor = aposId;
+            List<Object[]> resultado = transactionTemplate.execute(status ->
+                    carrinhoRepository.recalcularLote(produtoId, cursor, tamanhoLote));
+            Object[] lote = resultado.get(0);
+            if (lote[0] == null) {
+                return alteradas;
+            }
+            aposId = ((Number) lote[0]).longValue();
+            alteradas += ((Number) lote[1]).intValue();
+        }
+    }
+
+    public int getPendentes() {
+        return pendentes.size();
+    }
+}
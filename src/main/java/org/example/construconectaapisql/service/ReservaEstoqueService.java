@@ -0,0 +1,103 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.model.StatusReserva;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ReservaEstoqueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Reserva de estoque sem lock na aplicação: toda a disputa fica nos updates condicionais do banco,
+// que seguram o lock da linha de Produto só durante a própria transação curta
+@Service
+public class ReservaEstoqueService {
+    private final ReservaEstoqueRepository reservaEstoqueRepository;
+    private final ProdutoRepository produtoRepository;
+    private final Duration validade;
+
+    public ReservaEstoqueService(
+            ReservaEstoqueRepository reservaEstoqueRepository,
+            ProdutoRepository produtoRepository,
+            @Value("${construconecta.reserva.validade-minutos:15}") long validadeMinutos
+    ) {
+        this.reservaEstoqueRepository = reservaEstoqueRepository;
+        this.produtoRepository = produtoRepository;
+        this.validade = Duration.ofMinutes(validadeMinutos);
+    }
+
+    // Baixa o estoque (se houver) e registra a reserva ativa; nunca deixa o estoque negativo
+    @Transactional
+    public ReservaEstoque reserve(ReservaEstoque reserva) {
+        if (reserva.getProduto() == null) {
+            throw new IllegalArgumentException("O produto é obrigatório.");
+        }
+        if (reserva.getQuantidade() == null || reserva.getQuantidade() <= 0) {
+            throw new IllegalArgumentException("A quantidade reservada deve ser maior que 0.");
+        }
+
+        Long produtoId = Long.valueOf(reserva.getProduto());
+        if (produtoRepository.decrementarEstoque(produtoId, reserva.getQuantidade()) == 0) {
+            if (!produtoRepository.existsById(produtoId)) {
+                throw new RuntimeException("Produto não encontrado.");
+            }
+            throw new RuntimeException("Estoque insuficiente para reservar " + reserva.getQuantidade() + " unidade(s).");
+        }
+
+        reserva.setReservaId(null);
+        reserva.setStatus(StatusReserva.ATIVA);
+        reserva.setExpiraEm(OffsetDateTime.now().plus(validade));
+        return reservaEstoqueRepository.save(reserva);
+    }
+
+    // Confirma a reserva: o estoque já foi baixado, então só encerra a reserva
+    @Transactional
+    public ReservaEstoque confirm(Long reservaId) {
+        ReservaEstoque reserva = findReservationById(reservaId);
+        if (reservaEstoqueRepository.finalizarAtiva(reservaId, StatusReserva.ATIVA, StatusReserva.CONFIRMADA, OffsetDateTime.now()) == 0) {
+            throw new IllegalStateException("A reserva não está ativa ou já expirou.");
+        }
+        reserva.setStatus(StatusReserva.CONFIRMADA);
+        return reserva;
+    }
+
+    // Libera a reserva e devolve as unidades ao estoque do produto
+    @Transactional
+    public ReservaEstoque release(Long reservaId) {
+        ReservaEstoque reserva = findReservationById(reservaId);
+        if (reservaEstoqueRepository.finalizarAtiva(reservaId, StatusReserva.ATIVA, StatusReserva.LIBERADA, OffsetDateTime.now()) == 0) {
+            throw new IllegalStateException("A reserva não está ativa ou já expirou.");
+        }
+        produtoRepository.incrementarEstoque(Long.valueOf(reserva.getProduto()), reserva.getQuantidade());
+        reserva.setStatus(StatusReserva.LIBERADA);
+        return reserva;
+    }
+
+    // Devolve ao estoque as reservas que venceram sem confirmação; retorna quantos produtos foram afetados
+    @Scheduled(fixedDelayString = "${construconecta.reserva.intervalo-expiracao-ms:60000}")
+    @Transactional
+    public int expireReservations() {
+        List<Long> produtoIds = reservaEstoqueRepository.expirarVencidas(OffsetDateTime.now());
+        produtoRepository.invalidarCache(produtoIds);
+        return produtoIds.size();
+    }
+
+    public ReservaEstoque findReservationById(Long reservaId) {
+        return reservaEstoqueRepository.findById(reservaId)
+                .orElseThrow(() -> new RuntimeException("Reserva não encontrada."));
+    }
+
+    public List<ReservaEstoque> findByUserId(String usuario, Pageable pageable) {
+        return reservaEstoqueRepository.findByUsuario(usuario, pageable);
+    }
+
+    public List<ReservaEstoque> findByProductId(Integer produto, Pageable pageable) {
+        return reservaEstoqueRepository.findByProduto(produto, pageable);
+    }
+}
@@ -5,14 +5,14 @@ import org.example.construconectaapisql.model.TagServico;
 import org.example.construconectaapisql.repository.ServicoRepository;
 import org.example.construconectaapisql.repository.TagServicoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.text.Normalizer;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class ServicoService {
@@ -38,8 +38,12 @@ public class ServicoService {
         return servico;
     }
 
-    public List<Servico> findAllServices() {
-        return servicoRepository.findAll(Sort.by(Sort.Direction.ASC, "servicoId"));
+    public Slice<Servico> findAllServices(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return servicoRepository.findByServicoIdGreaterThan(afterId, Paginacao.aposId(pageable, "servicoId"));
+        }
+        return servicoRepository.findAllBy(pageable);
     }
 
     // Other
@@ -48,33 +52,29 @@ public class ServicoService {
                 .orElseThrow(() -> new RuntimeException("Serviço não encontrado."));
     }
 
-    public List<Servico> findByServiceName(String nomeServico) {
-        String nomeNormalizado = normalizeString(nomeServico);
-        List<Servico> servicos = servicoRepository.findAll();
-        return servicos.stream()
-                .filter(c -> normalizeString(c.getNomeServico()).contains(nomeNormalizado))
-                .collect(Collectors.toList());
+    // ETag do serviço a partir das versões do serviço e das suas tags; vazio se o serviço não existe
+    public Optional<String> findServiceEtag(Long servicoId) {
+        return servicoRepository.findVersaoById(servicoId).map(versao -> servicoId + "-" + versao);
     }
 
-    public List<Servico> findByUserId(String usuario) {
-        return servicoRepository.findByUsuario(usuario);
+    public List<Servico> findByServiceName(String nomeServico, Pageable pageable) {
+        return servicoRepository.searchByNome(BuscaTexto.escaparLike(nomeServico), Paginacao.semOrdenacao(pageable));
     }
 
-    public List<Servico> findByServicesTag(List<TagServico> tagServico) {
-        return servicoRepository.findByTagServicos(new HashSet<>(tagServico));
+    public List<Servico> findByServiceNameOrderByRelevancia(String nomeServico, Pageable pageable) {
+        return servicoRepository.searchByNomeOrderByRelevancia(
+                BuscaTexto.escaparLike(nomeServico), Paginacao.semOrdenacao(pageable));
     }
 
-    public List<TagServico> findByTagServiceName(String nome) {
-        String nomeNormalizado = normalizeString(nome);
-        List<TagServico> servicos = tagServicoRepository.findAll();
-        return servicos.stream()
-                .filter(c -> normalizeString(c.getNome()).contains(nomeNormalizado))
-                .collect(Collectors.toList());
+    public List<Servico> findByUserId(String usuario, Pageable pageable) {
+        return servicoRepository.findByUsuario(usuario, pageable);
+    }
+
+    public List<Servico> findByServicesTag(List<TagServico> tagServico, Pageable pageable) {
+        return servicoRepository.findByTagServicos(new HashSet<>(tagServico), pageable);
     }
 
-    private String normalizeString(String input) {
-        // Remove os acentos
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-        return normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "").toLowerCase();
+    public List<TagServico> findByTagServiceName(String nome) {
+        return tagServicoRepository.searchByNome(BuscaTexto.escaparLike(nome));
     }
 }
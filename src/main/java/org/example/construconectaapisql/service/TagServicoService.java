@@ -2,6 +2,11 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.TagServico;
 import org.example.construconectaapisql.repository.TagServicoRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,31 +20,57 @@ public class TagServicoService {
         this.tagServicoRepository = tagServicoRepository;
     }
 
-    public List<TagServico> findAllTags() {
-        return tagServicoRepository.findAll();
+    @Cacheable(cacheNames = "tagsServico", sync = true)
+    public Slice<TagServico> findAllTags(Long afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return tagServicoRepository.findByTagServicoIdGreaterThan(afterId, Paginacao.aposId(pageable, "tagServicoId"));
+        }
+        return tagServicoRepository.findAllBy(pageable);
+    }
+
+    // ETag de qualquer página de /servicesTag: muda quando alguma tag é criada, alterada ou removida
+    public String findTagsEtag() {
+        return "tags-" + tagServicoRepository.findVersaoColecao();
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "tagsServico", allEntries = true),
+            @CacheEvict(cacheNames = "tagServico", allEntries = true)
+    })
     public TagServico saveTags(TagServico tagServico) {
         boolean isUpdate = tagServico.getTagServicoId() != null && tagServicoRepository.existsById(tagServico.getTagServicoId());
         validateUniqueFields(tagServico, isUpdate);
         return tagServicoRepository.save(tagServico);
     }
 
+    @Cacheable(cacheNames = "tagServico", key = "#tagServicoId", sync = true)
     public TagServico findTagsById(Long tagServicoId) {
         return tagServicoRepository.findById(tagServicoId)
                 .orElseThrow(() -> new RuntimeException("Tag de Serviço não encontrada."));
     }
 
+    // Carrega direto do banco para edição: a instância em cache não pode ser alterada pelo PATCH
+    @CacheEvict(cacheNames = "tagServico", key = "#tagServicoId")
+    public TagServico findTagsByIdForUpdate(Long tagServicoId) {
+        return tagServicoRepository.findById(tagServicoId)
+                .orElseThrow(() -> new RuntimeException("Tag de Serviço não encontrada."));
+    }
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "tagsServico", allEntries = true),
+            @CacheEvict(cacheNames = "tagServico", key = "#tagServicoId")
+    })
     public TagServico deleteTag(Long tagServicoId) {
         TagServico tagServico = findTagsById(tagServicoId);
         tagServicoRepository.delete(tagServico);
         return tagServico;
     }
 
-    public List<TagServico> findByNome(String nome) {
-        return tagServicoRepository.findByNomeLikeIgnoreCase(nome);
+    public List<TagServico> findByNome(String nome, Pageable pageable) {
+        return tagServicoRepository.findByNomeLikeIgnoreCase(nome, pageable);
     }
 
     public boolean existsByNameIgnoreCase(String nome) {
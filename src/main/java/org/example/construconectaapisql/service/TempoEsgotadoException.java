@@ -0,0 +1,8 @@
+package org.example.construconectaapisql.service;
+
+// O painel não ficou pronto dentro do prazo; o controller responde 504
+public class TempoEsgotadoException extends RuntimeException {
+    public TempoEsgotadoException(String message) {
+        super(message);
+    }
+}
@@ -2,31 +2,59 @@ package org.example.construconectaapisql.service;
 
 import org.example.construconectaapisql.model.Usuario;
 import org.example.construconectaapisql.repository.UsuarioRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class UsuarioService {
+    // Mesma ordem das colunas devolvidas por UsuarioRepository.findConflitos
+    private static final String[] MENSAGENS_CONFLITO = {
+            "CPF já está em uso.",
+            "E-mail já está em uso.",
+            "Nome de usuário já está em uso.",
+            "Telefone já está em uso."
+    };
+
     private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transacaoConflitos;
 
     public UsuarioService(
-            UsuarioRepository usuarioRepository
+            UsuarioRepository usuarioRepository,
+            PlatformTransactionManager transactionManager
     ) {
         this.usuarioRepository = usuarioRepository;
+        this.transacaoConflitos = new TransactionTemplate(transactionManager);
+        this.transacaoConflitos.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transacaoConflitos.setReadOnly(true);
     }
 
     // Retorna todos os usuarios cadastrados
-    public List<Usuario> findAllUsers() {
-        return usuarioRepository.findAll();
+    public Slice<Usuario> findAllUsers(String afterId, Pageable pageable) {
+        if (afterId != null) {
+            // Keyset: continua depois do último id recebido, sem OFFSET
+            return usuarioRepository.findByUidGreaterThan(afterId, Paginacao.aposId(pageable, "uid"));
+        }
+        return usuarioRepository.findAllBy(pageable);
     }
 
-    @Transactional
+    // Sem consultas prévias: os índices únicos de cpf, e-mail, nome de usuário e telefone barram o
+    // duplicado no próprio INSERT/UPDATE, e só no caso de conflito é feita a consulta que diz quais campos repetem
     public Usuario saveUsers(Usuario usuario) {
-        boolean isUpdate = usuario.getUid() != null && usuarioRepository.existsById(usuario.getUid());
-        validateUniqueFields(usuario, isUpdate); // Validação de campos únicos, passando o estado de update
-        return usuarioRepository.save(usuario);
+        try {
+            return usuarioRepository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw conflito(usuario, e);
+        }
     }
 
     @Transactional
@@ -41,58 +69,60 @@ public class UsuarioService {
                 .orElseThrow(() -> new RuntimeException("Cliente não encontrado."));
     }
 
-    public List<Usuario> findByNomeCompleto(String nomeCompleto) {
-        return usuarioRepository.findByNomeCompletoLikeIgnoreCase(nomeCompleto);
+    public List<Usuario> findByNomeCompleto(String nomeCompleto, Pageable pageable) {
+        return usuarioRepository.findByNomeCompletoLikeIgnoreCase(nomeCompleto, pageable);
     }
 
-    public List<Usuario> findByNomeUsuario(String nomeUsuario) {
-        return usuarioRepository.findByNomeUsuarioLikeIgnoreCase(nomeUsuario);
+    public List<Usuario> findByNomeUsuario(String nomeUsuario, Pageable pageable) {
+        return usuarioRepository.findByNomeUsuarioLikeIgnoreCase(nomeUsuario, pageable);
     }
 
-    public List<Usuario> findByCpf(String cpf) {
-        return usuarioRepository.findByCpf(cpf);
+    public List<Usuario> findByCpf(String cpf, Pageable pageable) {
+        return usuarioRepository.findByCpf(cpf, pageable);
     }
 
-    public List<Usuario> findByEmail(String email) {
-        return usuarioRepository.findByEmailLikeIgnoreCase(email);
+    public List<Usuario> findByEmail(String email, Pageable pageable) {
+        return usuarioRepository.findByEmailLikeIgnoreCase(email, pageable);
     }
 
-    public List<Usuario> findByTelefone(String telefone) {
-        return usuarioRepository.findByTelefone(telefone);
+    public List<Usuario> findByTelefone(String telefone, Pageable pageable) {
+        return usuarioRepository.findByTelefone(telefone, pageable);
     }
 
-    public List<Usuario> findByGenero(Integer genero) {
-        return usuarioRepository.findByGenero(genero);
+    public List<Usuario> findByGenero(Integer genero, Pageable pageable) {
+        return usuarioRepository.findByGenero(genero, pageable);
     }
 
-    // Método para validar se os campos únicos já existem
-    private void validateUniqueFields(Usuario usuario, boolean isUpdate) {
-        // Se não for uma atualização ou o CPF for diferente do CPF existente, validar
-        if (!isUpdate || !usuarioRepository.findById(usuario.getUid()).get().getCpf().equals(usuario.getCpf())) {
-            if (!usuarioRepository.findByCpf(usuario.getCpf()).isEmpty()) {
-                throw new RuntimeException("CPF já está em uso.");
-            }
-        }
-
-        // Validação para e-mail
-        if (!isUpdate || !usuarioRepository.findById(usuario.getUid()).get().getEmail().equalsIgnoreCase(usuario.getEmail())) {
-            if (!usuarioRepository.findByEmailLikeIgnoreCase(usuario.getEmail()).isEmpty()) {
-                throw new RuntimeException("E-mail já está em uso.");
+    // Traduz a violação de um dos índices únicos (uk_usuario_*) em mensagem para o cliente.
+    // A consulta de conflitos roda numa transação nova, porque a do save já foi abortada pelo banco,
+    // e aponta todos os campos repetidos, não só o primeiro índice que o INSERT/UPDATE violou.
+    private DataIntegrityViolationException conflito(Usuario usuario, DataIntegrityViolationException e) {
+        String uid = usuario.getUid() != null ? usuario.getUid() : "";
+        Object[] conflitos = transacaoConflitos.execute(status -> usuarioRepository.findConflitos(
+                uid, usuario.getCpf(), usuario.getEmail(), usuario.getNomeUsuario(), usuario.getTelefone()).get(0));
+
+        List<String> mensagens = new ArrayList<>();
+        for (int i = 0; i < MENSAGENS_CONFLITO.length; i++) {
+            if (Boolean.TRUE.equals(conflitos[i])) {
+                mensagens.add(MENSAGENS_CONFLITO[i]);
             }
         }
-
-        // Validação para nome de usuário
-        if (!isUpdate || !usuarioRepository.findById(usuario.getUid()).get().getNomeUsuario().equalsIgnoreCase(usuario.getNomeUsuario())) {
-            if (!usuarioRepository.findByNomeUsuarioLikeIgnoreCase(usuario.getNomeUsuario()).isEmpty()) {
-                throw new RuntimeException("Nome de usuário já está em uso.");
+        if (mensagens.isEmpty()) {
+            // O registro que conflitava pode ter sumido entre o save e a consulta; usa o nome do índice
+            String indice = e.getCause() instanceof ConstraintViolationException violacao ? violacao.getConstraintName() : null;
+            if (indice == null) {
+                return e;
             }
-        }
-
-        // Validação para telefone
-        if (!isUpdate || !usuarioRepository.findById(usuario.getUid()).get().getTelefone().equals(usuario.getTelefone())) {
-            if (!usuarioRepository.findByTelefone(usuario.getTelefone()).isEmpty()) {
-                throw new RuntimeException("Telefone já está em uso.");
+            switch (indice) {
+                case "uk_usuario_cpf" -> mensagens.add(MENSAGENS_CONFLITO[0]);
+                case "uk_usuario_email" -> mensagens.add(MENSAGENS_CONFLITO[1]);
+                case "uk_usuario_nome_usuario", "usuario_nome_usuario_key" -> mensagens.add(MENSAGENS_CONFLITO[2]);
+                case "uk_usuario_telefone" -> mensagens.add(MENSAGENS_CONFLITO[3]);
+                default -> {
+                    return e;
+                }
             }
         }
+        return new DataIntegrityViolationException(String.join(" ", mensagens), e);
     }
 }
@@ -0,0 +1,11 @@
+-- Unicidade dos dados de cadastro do usuário garantida pelo banco, no lugar das consultas prévias do UsuarioService.
+-- E-mail e nome de usuário não diferenciam maiúsculas, por isso os índices são sobre lower().
+-- Falha se já houver duplicados: resolva-os antes (SELECT lower(email), count(*) FROM usuario GROUP BY 1 HAVING count(*) > 1).
+-- CONCURRENTLY não bloqueia novos cadastros enquanto o índice é criado; o Flyway roda este script fora de transação.
+-- uk_usuario_cpf e uk_usuario_telefone também estão no @Table(indexes = ...) de Usuario; os de lower() o
+-- VerificadorIndices não confere, já que @Index só aceita colunas.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_usuario_cpf ON usuario (cpf);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_usuario_email ON usuario (lower(email));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_usuario_nome_usuario ON usuario (lower(nome_usuario));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_usuario_telefone ON usuario (telefone);
@@ -0,0 +1,9 @@
+-- Coluna de versão (@Version) das entidades de catálogo, usada no controle otimista e nos ETags.
+-- ADD COLUMN com DEFAULT constante não reescreve a tabela no PostgreSQL 11+.
+-- UPDATEs feitos em SQL direto nessas tabelas devem incrementar versao junto.
+
+ALTER TABLE produto ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE servico ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categoria ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tag_servico ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE plano ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
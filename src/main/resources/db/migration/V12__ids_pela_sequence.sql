@@ -0,0 +1,56 @@
+-- As colunas de id ainda eram GENERATED BY DEFAULT AS IDENTITY, com um contador próprio que seguia em
+-- MAX(id) + 1, enquanto o Hibernate tira da <tabela>_seq os ids MAX + 1 .. MAX + 50 (otimizador pooled).
+-- Um insert sem id feito fora da aplicação pegava um id já reservado e falhava com chave duplicada.
+-- Agora o DEFAULT da coluna é a própria sequence: cada nextval externo consome um bloco inteiro de 50,
+-- que o Hibernate nunca recebe, então os dois caminhos não colidem.
+ALTER TABLE categoria ALTER COLUMN categoria_id DROP IDENTITY IF EXISTS;
+ALTER TABLE categoria ALTER COLUMN categoria_id SET DEFAULT nextval('categoria_seq');
+ALTER SEQUENCE categoria_seq OWNED BY categoria.categoria_id;
+
+ALTER TABLE tag_servico ALTER COLUMN tag_servico_id DROP IDENTITY IF EXISTS;
+ALTER TABLE tag_servico ALTER COLUMN tag_servico_id SET DEFAULT nextval('tag_servico_seq');
+ALTER SEQUENCE tag_servico_seq OWNED BY tag_servico.tag_servico_id;
+
+ALTER TABLE produto ALTER COLUMN produto_id DROP IDENTITY IF EXISTS;
+ALTER TABLE produto ALTER COLUMN produto_id SET DEFAULT nextval('produto_seq');
+ALTER SEQUENCE produto_seq OWNED BY produto.produto_id;
+
+ALTER TABLE servico ALTER COLUMN servico_id DROP IDENTITY IF EXISTS;
+ALTER TABLE servico ALTER COLUMN servico_id SET DEFAULT nextval('servico_seq');
+ALTER SEQUENCE servico_seq OWNED BY servico.servico_id;
+
+ALTER TABLE carrinho ALTER COLUMN carrinho_id DROP IDENTITY IF EXISTS;
+ALTER TABLE carrinho ALTER COLUMN carrinho_id SET DEFAULT nextval('carrinho_seq');
+ALTER SEQUENCE carrinho_seq OWNED BY carrinho.carrinho_id;
+
+ALTER TABLE endereco_usuariox ALTER COLUMN endereco_usuario_id DROP IDENTITY IF EXISTS;
+ALTER TABLE endereco_usuariox ALTER COLUMN endereco_usuario_id SET DEFAULT nextval('endereco_usuario_seq');
+ALTER SEQUENCE endereco_usuario_seq OWNED BY endereco_usuariox.endereco_usuario_id;
+
+ALTER TABLE pedido ALTER COLUMN pedido_id DROP IDENTITY IF EXISTS;
+ALTER TABLE pedido ALTER COLUMN pedido_id SET DEFAULT nextval('pedido_seq');
+ALTER SEQUENCE pedido_seq OWNED BY pedido.pedido_id;
+
+ALTER TABLE item_pedido ALTER COLUMN item_pedido_id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_pedido ALTER COLUMN item_pedido_id SET DEFAULT nextval('item_pedido_seq');
+ALTER SEQUENCE item_pedido_seq OWNED BY item_pedido.item_pedido_id;
+
+ALTER TABLE pagamento_produto ALTER COLUMN pagamento_produto_id DROP IDENTITY IF EXISTS;
+ALTER TABLE pagamento_produto ALTER COLUMN pagamento_produto_id SET DEFAULT nextval('pagamento_produto_seq');
+ALTER SEQUENCE pagamento_produto_seq OWNED BY pagamento_produto.pagamento_produto_id;
+
+ALTER TABLE plano ALTER COLUMN plano_id DROP IDENTITY IF EXISTS;
+ALTER TABLE plano ALTER COLUMN plano_id SET DEFAULT nextval('plano_seq');
+ALTER SEQUENCE plano_seq OWNED BY plano.plano_id;
+
+ALTER TABLE pagamento_plano ALTER COLUMN pagamento_plano_id DROP IDENTITY IF EXISTS;
+ALTER TABLE pagamento_plano ALTER COLUMN pagamento_plano_id SET DEFAULT nextval('pagamento_plano_seq');
+ALTER SEQUENCE pagamento_plano_seq OWNED BY pagamento_plano.pagamento_plano_id;
+
+ALTER TABLE pagamento_servico ALTER COLUMN pagamento_servico_id DROP IDENTITY IF EXISTS;
+ALTER TABLE pagamento_servico ALTER COLUMN pagamento_servico_id SET DEFAULT nextval('pagamento_servico_seq');
+ALTER SEQUENCE pagamento_servico_seq OWNED BY pagamento_servico.pagamento_servico_id;
+
+ALTER TABLE plano_usuario ALTER COLUMN plano_usuario_id DROP IDENTITY IF EXISTS;
+ALTER TABLE plano_usuario ALTER COLUMN plano_usuario_id SET DEFAULT nextval('plano_usuario_seq');
+ALTER SEQUENCE plano_usuario_seq OWNED BY plano_usuario.plano_usuario_id;
@@ -0,0 +1,142 @@
+-- Schema inicial, equivalente ao que o ddl-auto=update gerava a partir das entidades.
+-- Em bancos que já existiam as tabelas são mantidas (IF NOT EXISTS) e o Flyway só registra a versão.
+
+CREATE TABLE IF NOT EXISTS usuario (
+    uid             VARCHAR(28)  NOT NULL PRIMARY KEY,
+    nome_completo   VARCHAR(300) NOT NULL,
+    nome_usuario    VARCHAR(20)  NOT NULL UNIQUE,
+    cpf             VARCHAR(255) NOT NULL,
+    email           VARCHAR(250) NOT NULL,
+    senha           VARCHAR(500) NOT NULL,
+    telefone        VARCHAR(255) NOT NULL,
+    data_nascimento VARCHAR(255) NOT NULL,
+    genero          INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS endereco_usuariox (
+    endereco_usuario_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cep                 VARCHAR(8)   NOT NULL,
+    uf                  VARCHAR(2)   NOT NULL,
+    cidade              VARCHAR(23)  NOT NULL,
+    bairro              VARCHAR(53)  NOT NULL,
+    rua                 VARCHAR(75)  NOT NULL,
+    numero              VARCHAR(20),
+    complemento         VARCHAR(150),
+    usuario_id          VARCHAR(28)  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categoria (
+    categoria_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome         VARCHAR(250) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS produto (
+    produto_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_produto VARCHAR(250)   NOT NULL,
+    estoque      INTEGER        NOT NULL,
+    descricao    VARCHAR(500)   NOT NULL,
+    preco        NUMERIC(10, 2) NOT NULL,
+    condicao     BOOLEAN        NOT NULL,
+    desconto     NUMERIC(10, 2),
+    imagem       VARCHAR(500),
+    usuario_id   VARCHAR(255)   NOT NULL,
+    topico       INTEGER        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categoria_produto (
+    produto_id   BIGINT NOT NULL REFERENCES produto (produto_id),
+    categoria_id BIGINT NOT NULL REFERENCES categoria (categoria_id),
+    PRIMARY KEY (produto_id, categoria_id)
+);
+
+CREATE TABLE IF NOT EXISTS tag_servico (
+    tag_servico_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome           VARCHAR(100)   NOT NULL,
+    preco_medio    NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS servico (
+    servico_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_servico VARCHAR(100)   NOT NULL,
+    descricao    VARCHAR(500)   NOT NULL,
+    preco        NUMERIC(10, 2) NOT NULL,
+    usuario_id   VARCHAR(255)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tag_servico_servico (
+    servico_id     BIGINT NOT NULL REFERENCES servico (servico_id),
+    tag_servico_id BIGINT NOT NULL REFERENCES tag_servico (tag_servico_id),
+    PRIMARY KEY (servico_id, tag_servico_id)
+);
+
+CREATE TABLE IF NOT EXISTS carrinho (
+    carrinho_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    identificador INTEGER        NOT NULL,
+    usuario_id    VARCHAR(28)    NOT NULL,
+    produto_id    INTEGER        NOT NULL,
+    produtos_img  VARCHAR(500),
+    quantidade    INTEGER        NOT NULL,
+    valor_total   NUMERIC(10, 2)
+);
+
+CREATE TABLE IF NOT EXISTS pedido (
+    pedido_id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    usuario_id     VARCHAR(255)   NOT NULL,
+    valor_total    NUMERIC(10, 2) NOT NULL,
+    valor_frete    NUMERIC(10, 2) NOT NULL,
+    cupom          VARCHAR(20),
+    valor_desconto NUMERIC(10, 2),
+    data_pedido    VARCHAR(255)   NOT NULL,
+    data_entrega   VARCHAR(255)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS item_pedido (
+    item_pedido_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    produto_id     INTEGER        NOT NULL,
+    pedido_id      INTEGER        NOT NULL,
+    quantidade     INTEGER        NOT NULL,
+    preco_unitario NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS pagamento_produto (
+    pagamento_produto_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pedido_id            INTEGER        NOT NULL,
+    usuario_id           VARCHAR(28)    NOT NULL,
+    data_pagamento       VARCHAR(255)   NOT NULL,
+    tipo_pagamento       VARCHAR(20)    NOT NULL,
+    valor_total          NUMERIC(10, 2) NOT NULL,
+    valor_frete          NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS plano (
+    plano_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome      VARCHAR(100)   NOT NULL UNIQUE,
+    descricao VARCHAR(255)   NOT NULL,
+    valor     NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS pagamento_plano (
+    pagamento_plano_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    plano_id           INTEGER        NOT NULL,
+    usuario_id         VARCHAR(255)   NOT NULL,
+    valor              NUMERIC(10, 2) NOT NULL,
+    tipo_pagamento     VARCHAR(20)    NOT NULL,
+    data_pagamento     VARCHAR(255)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS pagamento_servico (
+    pagamento_servico_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    servico_id           INTEGER        NOT NULL,
+    usuario_id           VARCHAR(255)   NOT NULL,
+    valor_servico        NUMERIC(10, 2) NOT NULL,
+    tipo_pagamento       VARCHAR(20)    NOT NULL,
+    data_pagamento       VARCHAR(255)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS plano_usuario (
+    plano_usuario_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    usuario_id       VARCHAR(28)  NOT NULL,
+    plano_id         INTEGER      NOT NULL,
+    data_assinatura  VARCHAR(255) NOT NULL,
+    data_final       VARCHAR(255) NOT NULL
+);
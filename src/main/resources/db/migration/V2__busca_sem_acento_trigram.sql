@@ -0,0 +1,20 @@
+-- Busca por nome sem acento e sem diferenciar maiúsculas, atendida por índices GIN de trigramas.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() não é IMMUTABLE, então não pode ser usada diretamente em um índice de expressão
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+CREATE INDEX IF NOT EXISTS idx_produto_nome_trgm
+    ON produto USING gin (f_unaccent(lower(nome_produto)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_servico_nome_trgm
+    ON servico USING gin (f_unaccent(lower(nome_servico)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_categoria_nome_trgm
+    ON categoria USING gin (f_unaccent(lower(nome)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tag_servico_nome_trgm
+    ON tag_servico USING gin (f_unaccent(lower(nome)) gin_trgm_ops);
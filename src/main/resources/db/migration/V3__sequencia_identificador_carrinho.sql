@@ -0,0 +1,6 @@
+-- Identificador do carrinho passa a vir de uma sequence: nextval é O(1) e nunca devolve
+-- o mesmo valor para duas transações, ao contrário do MAX(identificador) + 1
+CREATE SEQUENCE IF NOT EXISTS carrinho_identificador_seq AS INTEGER;
+
+-- Continua a numeração a partir dos carrinhos já existentes
+SELECT setval('carrinho_identificador_seq', COALESCE((SELECT MAX(identificador) FROM carrinho), 0) + 1, false);
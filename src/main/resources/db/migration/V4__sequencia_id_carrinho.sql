@@ -0,0 +1,6 @@
+-- Ids de carrinho alocados em blocos de 50 (allocationSize do @SequenceGenerator),
+-- o que permite ao Hibernate agrupar os inserts em lote
+CREATE SEQUENCE IF NOT EXISTS carrinho_seq INCREMENT BY 50;
+
+-- O próximo bloco começa depois do maior id já existente
+SELECT setval('carrinho_seq', COALESCE((SELECT MAX(carrinho_id) FROM carrinho), 0) + 50, false);
@@ -0,0 +1,4 @@
+-- Ids de item de pedido alocados em blocos de 50, para o checkout inserir os itens em lote
+CREATE SEQUENCE IF NOT EXISTS item_pedido_seq INCREMENT BY 50;
+
+SELECT setval('item_pedido_seq', COALESCE((SELECT MAX(item_pedido_id) FROM item_pedido), 0) + 50, false);
@@ -0,0 +1,24 @@
+-- Reservas de estoque: a unidade sai de produto.estoque na reserva e volta na liberação ou expiração
+CREATE SEQUENCE IF NOT EXISTS reserva_estoque_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS reserva_estoque (
+    reserva_id BIGINT PRIMARY KEY,
+    produto_id INTEGER     NOT NULL,
+    usuario_id VARCHAR(28) NOT NULL,
+    quantidade INTEGER     NOT NULL CHECK (quantidade > 0),
+    status     VARCHAR(20) NOT NULL,
+    expira_em  TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Pedido que usou as unidades da reserva no checkout
+    pedido_id  INTEGER
+);
+
+-- A expiração só percorre as reservas ainda ativas
+CREATE INDEX IF NOT EXISTS idx_reserva_estoque_ativa_expira_em
+    ON reserva_estoque (expira_em) WHERE status = 'ATIVA';
+
+CREATE INDEX IF NOT EXISTS idx_reserva_estoque_usuario ON reserva_estoque (usuario_id);
+CREATE INDEX IF NOT EXISTS idx_reserva_estoque_produto ON reserva_estoque (produto_id);
+
+-- O checkout procura só as reservas do usuário ainda não usadas
+CREATE INDEX IF NOT EXISTS idx_reserva_estoque_usuario_sem_pedido
+    ON reserva_estoque (usuario_id, produto_id) WHERE pedido_id IS NULL;
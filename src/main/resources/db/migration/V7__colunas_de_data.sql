@@ -0,0 +1,42 @@
+-- Colunas de data passam de VARCHAR para DATE, permitindo buscas por período com índice B-tree.
+-- Aceita os formatos já gravados pela API: ISO (yyyy-MM-dd, com ou sem horário) e dd/MM/yyyy.
+CREATE FUNCTION pg_temp.para_data(valor TEXT) RETURNS DATE
+    LANGUAGE plpgsql IMMUTABLE AS $$
+BEGIN
+    IF valor ~ '^\d{4}-\d{2}-\d{2}' THEN
+        RETURN substr(valor, 1, 10)::DATE;
+    ELSIF valor ~ '^\d{2}/\d{2}/\d{4}' THEN
+        RETURN to_date(substr(valor, 1, 10), 'DD/MM/YYYY');
+    END IF;
+    RAISE EXCEPTION 'Data em formato desconhecido: "%"', valor;
+END
+$$;
+
+ALTER TABLE pedido
+    ALTER COLUMN data_pedido TYPE DATE USING pg_temp.para_data(data_pedido),
+    ALTER COLUMN data_entrega TYPE DATE USING pg_temp.para_data(data_entrega);
+
+ALTER TABLE pagamento_produto
+    ALTER COLUMN data_pagamento TYPE DATE USING pg_temp.para_data(data_pagamento);
+
+ALTER TABLE pagamento_plano
+    ALTER COLUMN data_pagamento TYPE DATE USING pg_temp.para_data(data_pagamento);
+
+ALTER TABLE pagamento_servico
+    ALTER COLUMN data_pagamento TYPE DATE USING pg_temp.para_data(data_pagamento);
+
+ALTER TABLE plano_usuario
+    ALTER COLUMN data_assinatura TYPE DATE USING pg_temp.para_data(data_assinatura),
+    ALTER COLUMN data_final TYPE DATE USING pg_temp.para_data(data_final);
+
+ALTER TABLE usuario
+    ALTER COLUMN data_nascimento TYPE DATE USING pg_temp.para_data(data_nascimento);
+
+-- Data + id: o período vira um index range scan já na ordem padrão dos endpoints (data, id)
+CREATE INDEX IF NOT EXISTS idx_pedido_data_pedido ON pedido (data_pedido, pedido_id);
+CREATE INDEX IF NOT EXISTS idx_pedido_data_entrega ON pedido (data_entrega, pedido_id);
+CREATE INDEX IF NOT EXISTS idx_pagamento_produto_data_pagamento ON pagamento_produto (data_pagamento, pagamento_produto_id);
+CREATE INDEX IF NOT EXISTS idx_pagamento_plano_data_pagamento ON pagamento_plano (data_pagamento, pagamento_plano_id);
+CREATE INDEX IF NOT EXISTS idx_pagamento_servico_data_pagamento ON pagamento_servico (data_pagamento, pagamento_servico_id);
+CREATE INDEX IF NOT EXISTS idx_plano_usuario_data_assinatura ON plano_usuario (data_assinatura, plano_usuario_id);
+CREATE INDEX IF NOT EXISTS idx_plano_usuario_data_final ON plano_usuario (data_final, plano_usuario_id);
@@ -0,0 +1,40 @@
+-- Índices das colunas usadas nos finders dos repositórios (usuario_id, chaves de outras tabelas, filtros).
+-- Onde a busca é paginada pelo id, o id entra como segunda coluna para a ordenação vir do próprio índice.
+-- CONCURRENTLY não bloqueia escritas em bancos que já têm dados; o Flyway roda este script fora de transação.
+-- Mantenha em sincronia com o @Table(indexes = ...) das entidades: o VerificadorIndices confere na subida.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carrinho_usuario ON carrinho (usuario_id, carrinho_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carrinho_produto ON carrinho (produto_id, carrinho_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carrinho_identificador ON carrinho (identificador, carrinho_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_item_pedido_pedido ON item_pedido (pedido_id, item_pedido_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_item_pedido_produto ON item_pedido (produto_id, item_pedido_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_usuario ON pedido (usuario_id, pedido_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_cupom ON pedido (cupom, pedido_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produto_usuario ON produto (usuario_id, produto_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produto_topico ON produto (topico, produto_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produto_condicao ON produto (condicao, produto_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_servico_usuario ON servico (usuario_id, servico_id);
+
+-- As chaves primárias das tabelas de junção começam pelo produto/serviço; a busca por categoria/tag precisa do inverso
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categoria_produto_categoria ON categoria_produto (categoria_id, produto_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tag_servico_servico_tag ON tag_servico_servico (tag_servico_id, servico_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_produto_usuario ON pagamento_produto (usuario_id, pagamento_produto_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_produto_pedido ON pagamento_produto (pedido_id, pagamento_produto_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_plano_usuario ON pagamento_plano (usuario_id, pagamento_plano_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_plano_plano ON pagamento_plano (plano_id, pagamento_plano_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_servico_usuario ON pagamento_servico (usuario_id, pagamento_servico_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pagamento_servico_servico ON pagamento_servico (servico_id, pagamento_servico_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_endereco_usuario_usuario ON endereco_usuariox (usuario_id, endereco_usuario_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_endereco_usuario_cep ON endereco_usuariox (cep, endereco_usuario_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_endereco_usuario_cidade ON endereco_usuariox (cidade, endereco_usuario_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_plano_usuario_usuario ON plano_usuario (usuario_id, plano_usuario_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_plano_usuario_plano ON plano_usuario (plano_id, plano_usuario_id);
@@ -0,0 +1,36 @@
+-- As demais entidades deixam o IDENTITY (que impede o Hibernate de agrupar inserts) e passam a usar
+-- sequences com incremento 50, igual ao allocationSize dos @SequenceGenerator (otimizador pooled).
+-- As colunas continuam GENERATED BY DEFAULT AS IDENTITY, então inserts antigos sem id seguem funcionando.
+-- Cada sequence começa depois do maior id já existente.
+CREATE SEQUENCE IF NOT EXISTS categoria_seq INCREMENT BY 50;
+SELECT setval('categoria_seq', COALESCE((SELECT MAX(categoria_id) FROM categoria), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS tag_servico_seq INCREMENT BY 50;
+SELECT setval('tag_servico_seq', COALESCE((SELECT MAX(tag_servico_id) FROM tag_servico), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS produto_seq INCREMENT BY 50;
+SELECT setval('produto_seq', COALESCE((SELECT MAX(produto_id) FROM produto), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS servico_seq INCREMENT BY 50;
+SELECT setval('servico_seq', COALESCE((SELECT MAX(servico_id) FROM servico), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS endereco_usuario_seq INCREMENT BY 50;
+SELECT setval('endereco_usuario_seq', COALESCE((SELECT MAX(endereco_usuario_id) FROM endereco_usuariox), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS pedido_seq INCREMENT BY 50;
+SELECT setval('pedido_seq', COALESCE((SELECT MAX(pedido_id) FROM pedido), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS pagamento_produto_seq INCREMENT BY 50;
+SELECT setval('pagamento_produto_seq', COALESCE((SELECT MAX(pagamento_produto_id) FROM pagamento_produto), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS plano_seq INCREMENT BY 50;
+SELECT setval('plano_seq', COALESCE((SELECT MAX(plano_id) FROM plano), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS pagamento_plano_seq INCREMENT BY 50;
+SELECT setval('pagamento_plano_seq', COALESCE((SELECT MAX(pagamento_plano_id) FROM pagamento_plano), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS pagamento_servico_seq INCREMENT BY 50;
+SELECT setval('pagamento_servico_seq', COALESCE((SELECT MAX(pagamento_servico_id) FROM pagamento_servico), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS plano_usuario_seq INCREMENT BY 50;
+SELECT setval('plano_usuario_seq', COALESCE((SELECT MAX(plano_usuario_id) FROM plano_usuario), 0) + 50, false);
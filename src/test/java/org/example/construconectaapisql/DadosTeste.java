@@ -0,0 +1,30 @@
+package org.example.construconectaapisql;
+
+import org.example.construconectaapisql.model.Produto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Dados válidos para os testes de integração; cada teste só ajusta o que importa para ele
+public final class DadosTeste {
+    private DadosTeste() {}
+
+    // UID no formato do Firebase (28 caracteres), diferente a cada chamada
+    public static String uid() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 28);
+    }
+
+    // Produto ainda não salvo: estoque 10, preço 10 sem desconto, tópico 1 e um usuário novo
+    public static Produto produto(String nome) {
+        Produto produto = new Produto();
+        produto.setNomeProduto(nome);
+        produto.setEstoque(10);
+        produto.setDescricao(nome + ", usado nos testes.");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setCondicao(true);
+        produto.setDesconto(BigDecimal.ZERO);
+        produto.setUsuario(uid());
+        produto.setTopico(1);
+        return produto;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.construconectaapisql.controller;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Buscas por período (from/to inclusivos) e datas inválidas no PATCH.
+// Os pedidos ficam num ano distante para não se misturar com os de outros testes.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConsultaPeriodoTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private final String usuario = DadosTeste.uid();
+    private final List<Pedido> pedidos = new ArrayList<>();
+
+    @BeforeEach
+    void criarPedidos() {
+        for (LocalDate data : List.of(LocalDate.of(2091, 3, 1), LocalDate.of(2091, 3, 15), LocalDate.of(2091, 4, 1))) {
+            Pedido pedido = new Pedido();
+            pedido.setUsuario(usuario);
+            pedido.setValorTotal(BigDecimal.TEN);
+            pedido.setValorFrete(BigDecimal.ZERO);
+            pedido.setDataPedido(data);
+            pedido.setDataEntrega(data.plusDays(10));
+            pedidos.add(pedidoRepository.save(pedido));
+        }
+    }
+
+    @AfterEach
+    void limpar() {
+        pedidoRepository.deleteAll(pedidoRepository.findByUsuario(usuario, Pageable.unpaged()));
+    }
+
+    @Test
+    void periodoDoPedidoIncluiAsDuasPontas() throws Exception {
+        mockMvc.perform(get("/order/findByOrderDateBetween")
+                        .param("from", "2091-03-01").param("to", "2091-03-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].pedidoId").value(pedidos.get(0).getPedidoId()))
+                .andExpect(jsonPath("$[1].dataPedido").value("2091-03-15"));
+    }
+
+    @Test
+    void periodoDaEntrega() throws Exception {
+        mockMvc.perform(get("/order/findByDeliveryDateBetween")
+                        .param("from", "2091-03-20").param("to", "2091-04-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].dataEntrega").value("2091-03-25"));
+
+        mockMvc.perform(get("/order/findByDeliveryDateBetween")
+                        .param("from", "2091-05-01").param("to", "2091-05-31"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void periodoInvalidoRetorna400() throws Exception {
+        mockMvc.perform(get("/order/findByOrderDateBetween")
+                        .param("from", "2091-04-01").param("to", "2091-03-01"))
+                .andExpect(status().isBadRequest());
+
+        // Sem "to" o fim é hoje, anterior ao início
+        mockMvc.perform(get("/order/findByOrderDateBetween").param("from", "2091-03-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/order/findByOrderDateBetween").param("from", "01/03/2091"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void dataMalFormadaNoPatchRetorna400ComOCampo() throws Exception {
+        mockMvc.perform(patch("/order/update/" + pedidos.get(0).getPedidoId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dataEntrega\":\"11/03/2091\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("dataEntrega")));
+    }
+}
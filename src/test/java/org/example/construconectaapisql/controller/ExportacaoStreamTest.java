@@ -0,0 +1,104 @@
+package org.example.construconectaapisql.controller;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Exporta os pedidos em NDJSON e CSV limpando o contexto de persistência a cada 2 linhas,
+// para exercitar o caminho do clear no meio do Stream
+@SpringBootTest(properties = "construconecta.exportacao.limpar-a-cada=2")
+@AutoConfigureMockMvc
+class ExportacaoStreamTest {
+    private static final int TOTAL = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private final String usuario = DadosTeste.uid();
+
+    @BeforeEach
+    void criarPedidos() {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < TOTAL; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setUsuario(usuario);
+            pedido.setValorTotal(BigDecimal.valueOf(100 + i));
+            pedido.setValorFrete(BigDecimal.TEN);
+            pedido.setDataPedido(LocalDate.of(2024, 10, 1));
+            pedido.setDataEntrega(LocalDate.of(2024, 10, 10));
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+    }
+
+    @AfterEach
+    void limpar() {
+        pedidoRepository.deleteAll(pedidoRepository.findByUsuario(usuario, Pageable.unpaged()));
+    }
+
+    @Test
+    void exportaNdjsonUmPedidoPorLinha() throws Exception {
+        String corpo = exportar("ndjson");
+
+        assertTrue(corpo.endsWith("\n"));
+        long linhas = Arrays.stream(corpo.split("\n"))
+                .filter(linha -> linha.startsWith("{") && linha.contains(usuario))
+                .count();
+        assertEquals(TOTAL, linhas);
+    }
+
+    @Test
+    void exportaCsvComCabecalho() throws Exception {
+        String[] linhas = exportar("csv").split("\n");
+
+        assertTrue(linhas[0].contains("pedidoId") && linhas[0].contains("usuario"));
+        assertEquals(TOTAL, Arrays.stream(linhas).filter(linha -> linha.contains(usuario)).count());
+
+        // Datas em ISO, iguais às do NDJSON e da API, e não como array (2024;10;1)
+        List<String> cabecalho = Arrays.asList(linhas[0].trim().split(","));
+        String[] celulas = Arrays.stream(linhas).filter(linha -> linha.contains(usuario))
+                .findFirst().orElseThrow().trim().split(",", -1);
+        assertEquals("2024-10-01", celulas[cabecalho.indexOf("dataPedido")]);
+        assertEquals("2024-10-10", celulas[cabecalho.indexOf("dataEntrega")]);
+    }
+
+    @Test
+    void formatoInvalidoRetorna400() throws Exception {
+        mockMvc.perform(get("/order/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String exportar(String formato) throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/order/export").param("formato", formato))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.construconectaapisql.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// CBOR e Smile seguem a configuração do JSON da aplicação: datas saem em ISO, não como array
+@SpringBootTest
+@AutoConfigureMockMvc
+class FormatosBinariosTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private Pedido pedido;
+
+    @BeforeEach
+    void criarPedido() {
+        pedido = new Pedido();
+        pedido.setUsuario(DadosTeste.uid());
+        pedido.setValorTotal(BigDecimal.TEN);
+        pedido.setValorFrete(BigDecimal.ZERO);
+        pedido.setDataPedido(LocalDate.of(2024, 10, 1));
+        pedido.setDataEntrega(LocalDate.of(2024, 10, 10));
+        pedido = pedidoRepository.save(pedido);
+    }
+
+    @AfterEach
+    void limpar() {
+        pedidoRepository.deleteById(pedido.getPedidoId());
+    }
+
+    @Test
+    void cborEscreveDatasEmIso() throws Exception {
+        JsonNode corpo = ler("application/cbor", new ObjectMapper(new CBORFactory()));
+        assertEquals("2024-10-01", corpo.get("dataPedido").asText());
+    }
+
+    @Test
+    void smileEscreveDatasEmIso() throws Exception {
+        JsonNode corpo = ler("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+        assertEquals("2024-10-10", corpo.get("dataEntrega").asText());
+    }
+
+    private JsonNode ler(String formato, ObjectMapper leitor) throws Exception {
+        byte[] corpo = mockMvc.perform(get("/order/findByOrderId/" + pedido.getPedidoId()).header("Accept", formato))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return leitor.readTree(corpo);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.construconectaapisql.controller;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Categoria;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.model.Servico;
+import org.example.construconectaapisql.model.TagServico;
+import org.example.construconectaapisql.repository.CategoriaRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ServicoRepository;
+import org.example.construconectaapisql.repository.TagServicoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que as listagens não voltem a fazer um select por linha para categorias/tags (N+1)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ListagemConsultasTest.ContagemConfig.class)
+class ListagemConsultasTest {
+    private static final int TOTAL = 30;
+
+    // Uma página = 1 select das entidades + 1 select em lote da coleção
+    private static final int SELECTS_POR_PAGINA = 2;
+
+    @TestConfiguration
+    static class ContagemConfig {
+        // Envolve o DataSource num proxy que conta os statements executados
+        @Bean
+        static BeanPostProcessor contarStatements() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).name("contagem").countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TagServicoRepository tagServicoRepository;
+
+    private final String usuario = "teste-" + UUID.randomUUID();
+    private final List<Produto> produtos = new ArrayList<>();
+    private final List<Servico> servicos = new ArrayList<>();
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final List<TagServico> tags = new ArrayList<>();
+
+    @BeforeEach
+    void popular() {
+        for (int i = 0; i < 3; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNome(usuario + "-categoria-" + i);
+            categorias.add(categoriaRepository.save(categoria));
+
+            TagServico tag = new TagServico();
+            tag.setNome(usuario + "-tag-" + i);
+            tag.setPrecoMedio(BigDecimal.TEN);
+            tags.add(tagServicoRepository.save(tag));
+        }
+
+        for (int i = 0; i < TOTAL; i++) {
+            Produto produto = DadosTeste.produto("Produto de teste " + i);
+            produto.setUsuario(usuario);
+            produto.setTopico(1 + i % 4);
+            produto.setCategorias(Set.of(categorias.get(i % 3), categorias.get((i + 1) % 3)));
+            produtos.add(produtoRepository.save(produto));
+
+            Servico servico = new Servico();
+            servico.setNomeServico("Serviço de teste " + i);
+            servico.setDescricao("Serviço usado na contagem de consultas.");
+            servico.setPreco(BigDecimal.TEN);
+            servico.setUsuario(usuario);
+            servico.setTagServicos(Set.of(tags.get(i % 3), tags.get((i + 1) % 3)));
+            servicos.add(servicoRepository.save(servico));
+        }
+    }
+
+    @AfterEach
+    void limpar() {
+        produtoRepository.deleteAll(produtos);
+        servicoRepository.deleteAll(servicos);
+        categoriaRepository.deleteAll(categorias);
+        tagServicoRepository.deleteAll(tags);
+    }
+
+    @Test
+    void listagemDeProdutosNaoFazUmSelectPorLinha() throws Exception {
+        assertSelects("/product/findByUser/userId/" + usuario + "?size=" + TOTAL);
+        assertSelects("/product/findByTopic/1?size=20");
+        assertSelects("/product/findByCondition/true?size=20");
+        assertSelects("/product/products?size=20");
+    }
+
+    @Test
+    void listagemDeServicosNaoFazUmSelectPorLinha() throws Exception {
+        assertSelects("/service/findByUser/userId/" + usuario + "?size=" + TOTAL);
+        assertSelects("/service/services?size=20");
+    }
+
+    @Test
+    void cardsDeProdutoSoTrazemAsColunasDaListagem() throws Exception {
+        // Projeção: um select só e sem descrição, usuário ou categorias na resposta
+        assertSelects("/product/cards?size=20", 1);
+        assertSelects("/product/cards/findByTopic/1?size=20", 1);
+        assertSelects("/product/cards/findByCategory/categoryId/" + categorias.get(0).getCategoriaId() + "?size=20",
+                SELECTS_POR_PAGINA);
+
+        mockMvc.perform(get("/product/cards/findByCategory/categoryId/" + categorias.get(0).getCategoriaId() + "?size=" + TOTAL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TOTAL * 2 / 3))
+                .andExpect(jsonPath("$[0].nomeProduto").exists())
+                .andExpect(jsonPath("$[0].descricao").doesNotExist())
+                .andExpect(jsonPath("$[0].usuario").doesNotExist())
+                .andExpect(jsonPath("$[0].categorias").doesNotExist());
+    }
+
+    private void assertSelects(String url) throws Exception {
+        assertSelects(url, SELECTS_POR_PAGINA);
+    }
+
+    private void assertSelects(String url, int maximo) throws Exception {
+        QueryCountHolder.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        long selects = QueryCountHolder.getGrandTotal().getSelect();
+        assertTrue(selects <= maximo, url + " executou " + selects + " selects");
+    }
+}
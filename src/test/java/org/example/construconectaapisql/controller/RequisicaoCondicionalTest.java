@@ -0,0 +1,115 @@
+package org.example.construconectaapisql.controller;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Categoria;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.CategoriaRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.service.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// If-None-Match com o ETag atual responde 304; qualquer alteração gera um ETag novo
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequisicaoCondicionalTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private Produto produto;
+
+    @AfterEach
+    void limpar() {
+        if (produto != null) {
+            produtoRepository.deleteById(produto.getProdutoId());
+        }
+        categoriaRepository.deleteAll(categorias);
+    }
+
+    @Test
+    void listagemDeCategoriasMudaDeEtagQuandoATabelaMuda() throws Exception {
+        String etag = etag("/category/categories");
+        mockMvc.perform(get("/category/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria do teste de ETag " + UUID.randomUUID());
+        categorias.add(categoriaRepository.save(categoria));
+
+        mockMvc.perform(get("/category/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etag("/category/categories"));
+    }
+
+    @Test
+    void produtoMudaDeEtagAoSerAlterado() throws Exception {
+        produto = DadosTeste.produto("Produto do teste de ETag");
+        produto.setTopico(3);
+        produto = produtoService.saveProducts(produto);
+
+        String url = "/product/findById/" + produto.getProdutoId();
+        String etag = etag(url);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        produto.setPreco(new BigDecimal("11.00"));
+        produto = produtoService.saveProducts(produto);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void produtoMudaDeEtagQuandoSuaCategoriaERenomeada() throws Exception {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria do teste de ETag " + UUID.randomUUID());
+        categoria = categoriaRepository.save(categoria);
+        categorias.add(categoria);
+
+        produto = DadosTeste.produto("Produto do teste de ETag com categoria");
+        produto.setTopico(3);
+        produto.setCategorias(new HashSet<>(Set.of(categoria)));
+        produto = produtoService.saveProducts(produto);
+
+        String url = "/product/findById/" + produto.getProdutoId();
+        String etag = etag(url);
+
+        // O produto não muda, mas o nome da categoria no corpo sim
+        categoria.setNome("Categoria renomeada " + UUID.randomUUID());
+        categorias.set(0, categoriaRepository.save(categoria));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Categoria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// O @CacheEvict de um save dentro de uma transação só vale depois do commit
+@SpringBootTest
+class CacheTransacionalTest {
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Categoria categoria;
+
+    @AfterEach
+    void limpar() {
+        if (categoria != null) {
+            categoriaService.deleteCategory(categoria.getCategoriaId());
+        }
+    }
+
+    @Test
+    void evictDoSaveEsperaOCommit() {
+        categoria = new Categoria();
+        categoria.setNome("Categoria do teste de cache " + UUID.randomUUID());
+        categoria = categoriaService.saveCategories(categoria);
+
+        Long categoriaId = categoria.getCategoriaId();
+        categoriaService.findCategoriesById(categoriaId);
+        Cache cache = cacheManager.getCache("categoria");
+        assertNotNull(cache.get(categoriaId));
+
+        categoria = transactionTemplate.execute(status -> {
+            Categoria alterada = categoriaService.findCategoriesByIdForUpdate(categoriaId);
+            alterada.setNome("Categoria renomeada " + UUID.randomUUID());
+            Categoria salva = categoriaService.saveCategories(alterada);
+            // Antes do commit o banco ainda tem o nome antigo; tirar do cache agora deixaria outra leitura recolocá-lo
+            assertNotNull(cache.get(categoriaId));
+            return salva;
+        });
+
+        assertNull(cache.get(categoriaId));
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.CarrinhoRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dispara adições de carrinho em paralelo e confere que nenhum identificador se repete
+@SpringBootTest
+class CarrinhoIdentificadorConcorrenciaTest {
+    private static final int ADICOES = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CarrinhoService carrinhoService;
+
+    @Autowired
+    private CarrinhoRepository carrinhoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final String prefixo = UUID.randomUUID().toString().replace("-", "").substring(0, 22);
+    private final List<Long> carrinhoIds = Collections.synchronizedList(new ArrayList<>());
+    private Produto produto;
+
+    @BeforeEach
+    void criarProduto() {
+        produto = DadosTeste.produto("Produto do teste de carrinho");
+        produto.setUsuario(prefixo);
+        produto = produtoRepository.save(produto);
+    }
+
+    @AfterEach
+    void limpar() {
+        carrinhoRepository.deleteAllById(carrinhoIds);
+        produtoRepository.delete(produto);
+    }
+
+    @Test
+    void adicoesConcorrentesRecebemIdentificadoresDistintos() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+
+        for (int i = 0; i < ADICOES; i++) {
+            // Um usuário novo por adição, então cada uma precisa de um identificador novo
+            String usuario = prefixo + String.format("%06d", i);
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                Carrinho carrinho = new Carrinho();
+                carrinho.setUsuario(usuario);
+                carrinho.setProduto(Math.toIntExact(produto.getProdutoId()));
+                carrinho.setQuantidade(1);
+                Carrinho salvo = carrinhoService.saveShoppingCart(carrinho);
+                carrinhoIds.add(salvo.getCarrinhoId());
+                return salvo.getIdentificador();
+            }));
+        }
+
+        largada.countDown();
+        Set<Integer> identificadores = new HashSet<>();
+        for (Future<Integer> resultado : resultados) {
+            identificadores.add(resultado.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(ADICOES, identificadores.size());
+    }
+}
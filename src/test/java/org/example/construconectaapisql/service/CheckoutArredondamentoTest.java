@@ -0,0 +1,87 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.ItemPedido;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.ItemPedidoRepository;
+import org.example.construconectaapisql.repository.PagamentoProdutoRepository;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Preço com desconto fracionado: o item guarda o unitário em 2 casas e o total é a soma desses unitários
+@SpringBootTest
+class CheckoutArredondamentoTest {
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CarrinhoService carrinhoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PagamentoProdutoRepository pagamentoProdutoRepository;
+
+    private final String usuario = DadosTeste.uid();
+    private Produto produto;
+    private Pedido pedido;
+
+    @AfterEach
+    void limpar() {
+        if (pedido != null) {
+            Integer pedidoId = Math.toIntExact(pedido.getPedidoId());
+            pagamentoProdutoRepository.deleteAll(pagamentoProdutoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            itemPedidoRepository.deleteAll(itemPedidoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            pedidoRepository.deleteById(pedido.getPedidoId());
+        }
+        if (produto != null) {
+            produtoRepository.deleteById(produto.getProdutoId());
+        }
+    }
+
+    @Test
+    void totalDoPedidoFechaComOsItens() {
+        produto = DadosTeste.produto("Produto do teste de arredondamento do checkout");
+        produto.setPreco(new BigDecimal("9.99"));
+        produto.setDesconto(new BigDecimal("0.15"));
+        produto = produtoRepository.save(produto);
+
+        Carrinho carrinho = new Carrinho();
+        carrinho.setUsuario(usuario);
+        carrinho.setProduto(Math.toIntExact(produto.getProdutoId()));
+        carrinho.setQuantidade(3);
+        carrinhoService.saveShoppingCart(carrinho);
+
+        Pedido novo = new Pedido();
+        novo.setUsuario(usuario);
+        novo.setDataPedido(LocalDate.now());
+        novo.setDataEntrega(LocalDate.now().plusDays(7));
+        PedidoFinalizado finalizado = pedidoService.checkout(novo, "PIX");
+        pedido = finalizado.getPedido();
+
+        // 9,99 * 0,85 = 8,4915 -> 8,49 por unidade
+        ItemPedido item = finalizado.getItens().get(0);
+        assertEquals(new BigDecimal("8.49"), item.getPrecoUnitario());
+        assertEquals(0, new BigDecimal("25.47").compareTo(pedido.getValorTotal()));
+        assertEquals(0, new BigDecimal("25.47").compareTo(finalizado.getPagamento().getValorTotal()));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.CarrinhoRepository;
+import org.example.construconectaapisql.repository.ItemPedidoRepository;
+import org.example.construconectaapisql.repository.PagamentoProdutoRepository;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+// Dois checkouts do mesmo carrinho ao mesmo tempo (duplo envio): só um vira pedido e o estoque sai uma vez
+@SpringBootTest
+class CheckoutConcorrenciaTest {
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CarrinhoService carrinhoService;
+
+    @Autowired
+    private CarrinhoRepository carrinhoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PagamentoProdutoRepository pagamentoProdutoRepository;
+
+    private final String usuario = DadosTeste.uid();
+    private Produto produto;
+
+    @BeforeEach
+    void criarCarrinho() {
+        produto = DadosTeste.produto("Produto do teste de checkout concorrente");
+        produto.setUsuario(usuario);
+        produto = produtoRepository.save(produto);
+
+        Carrinho carrinho = new Carrinho();
+        carrinho.setUsuario(usuario);
+        carrinho.setProduto(Math.toIntExact(produto.getProdutoId()));
+        carrinho.setQuantidade(2);
+        carrinhoService.saveShoppingCart(carrinho);
+    }
+
+    @AfterEach
+    void limpar() {
+        for (Pedido pedido : pedidoRepository.findByUsuario(usuario, Pageable.unpaged())) {
+            Integer pedidoId = Math.toIntExact(pedido.getPedidoId());
+            pagamentoProdutoRepository.deleteAll(pagamentoProdutoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            itemPedidoRepository.deleteAll(itemPedidoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            pedidoRepository.delete(pedido);
+        }
+        carrinhoRepository.deleteAll(carrinhoRepository.findByUsuario(usuario));
+        produtoRepository.deleteById(produto.getProdutoId());
+    }
+
+    @Test
+    void checkoutRepetidoNaoDuplicaOPedido() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Pedido>> tentativas = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            tentativas.add(executor.submit(() -> {
+                largada.await();
+                Pedido pedido = new Pedido();
+                pedido.setUsuario(usuario);
+                pedido.setDataPedido(LocalDate.now());
+                pedido.setDataEntrega(LocalDate.now().plusDays(7));
+                return pedidoService.checkout(pedido, "PIX").getPedido();
+            }));
+        }
+
+        largada.countDown();
+        int finalizados = 0;
+        for (Future<Pedido> tentativa : tentativas) {
+            try {
+                tentativa.get(60, TimeUnit.SECONDS);
+                finalizados++;
+            } catch (ExecutionException e) {
+                // O segundo espera a trava do carrinho e depois o encontra vazio
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, finalizados);
+        assertEquals(1, pedidoRepository.findByUsuario(usuario, Pageable.unpaged()).size());
+        assertEquals(8, produtoRepository.findById(produto.getProdutoId()).orElseThrow().getEstoque());
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.Pedido;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.model.StatusReserva;
+import org.example.construconectaapisql.repository.ItemPedidoRepository;
+import org.example.construconectaapisql.repository.PagamentoProdutoRepository;
+import org.example.construconectaapisql.repository.PedidoRepository;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ReservaEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// O checkout usa as unidades que o comprador já reservou: o estoque sai uma vez só
+@SpringBootTest
+class CheckoutReservaTest {
+    private static final int ESTOQUE = 10;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private CarrinhoService carrinhoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaEstoqueRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PagamentoProdutoRepository pagamentoProdutoRepository;
+
+    private final String usuario = DadosTeste.uid();
+    private Produto produto;
+    private Pedido pedido;
+
+    @BeforeEach
+    void criarProduto() {
+        produto = DadosTeste.produto("Produto do teste de checkout com reserva");
+        produto.setEstoque(ESTOQUE);
+        produto.setUsuario(usuario);
+        produto = produtoRepository.save(produto);
+    }
+
+    @AfterEach
+    void limpar() {
+        if (pedido != null) {
+            Integer pedidoId = Math.toIntExact(pedido.getPedidoId());
+            pagamentoProdutoRepository.deleteAll(pagamentoProdutoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            itemPedidoRepository.deleteAll(itemPedidoRepository.findByPedido(pedidoId, Pageable.unpaged()));
+            pedidoRepository.deleteById(pedido.getPedidoId());
+        }
+        reservaEstoqueRepository.deleteAll(
+                reservaEstoqueRepository.findByProduto(Math.toIntExact(produto.getProdutoId()), Pageable.unpaged()));
+        produtoRepository.deleteById(produto.getProdutoId());
+    }
+
+    @Test
+    void reservaConfirmadaNaoEBaixadaDeNovoNoCheckout() {
+        ReservaEstoque reserva = reservaEstoqueService.reserve(reserva(3));
+        reservaEstoqueService.confirm(reserva.getReservaId());
+
+        // 3 unidades vêm da reserva e só 2 saem do estoque no checkout
+        pedido = checkout(5);
+
+        assertEquals(ESTOQUE - 5, estoque());
+        ReservaEstoque usada = reservaEstoqueRepository.findById(reserva.getReservaId()).orElseThrow();
+        assertEquals(StatusReserva.CONFIRMADA, usada.getStatus());
+        assertEquals(Math.toIntExact(pedido.getPedidoId()), usada.getPedido());
+    }
+
+    @Test
+    void reservaAtivaMaiorQueOPedidoDevolveOExcedente() {
+        ReservaEstoque reserva = reservaEstoqueService.reserve(reserva(ESTOQUE));
+
+        // Estoque zerado pela reserva: o comprador que a segura ainda consegue fechar o pedido
+        pedido = checkout(4);
+
+        assertEquals(ESTOQUE - 4, estoque());
+        assertEquals(StatusReserva.CONFIRMADA,
+                reservaEstoqueRepository.findById(reserva.getReservaId()).orElseThrow().getStatus());
+    }
+
+    private ReservaEstoque reserva(int quantidade) {
+        ReservaEstoque reserva = new ReservaEstoque();
+        reserva.setProduto(Math.toIntExact(produto.getProdutoId()));
+        reserva.setUsuario(usuario);
+        reserva.setQuantidade(quantidade);
+        return reserva;
+    }
+
+    private Pedido checkout(int quantidade) {
+        Carrinho carrinho = new Carrinho();
+        carrinho.setUsuario(usuario);
+        carrinho.setProduto(Math.toIntExact(produto.getProdutoId()));
+        carrinho.setQuantidade(quantidade);
+        carrinhoService.saveShoppingCart(carrinho);
+
+        Pedido novo = new Pedido();
+        novo.setUsuario(usuario);
+        novo.setDataPedido(LocalDate.now());
+        novo.setDataEntrega(LocalDate.now().plusDays(7));
+        return pedidoService.checkout(novo, "PIX").getPedido();
+    }
+
+    private int estoque() {
+        return produtoRepository.findById(produto.getProdutoId()).orElseThrow().getEstoque();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.construconectaapisql.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ReservaEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O produto lido pelo id fica no cache de 2º nível e não pode ficar velho
+// depois de um PATCH (save) nem de uma baixa de estoque feita em SQL direto
+@SpringBootTest
+class ProdutoCacheSegundoNivelTest {
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaEstoqueRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final String usuario = DadosTeste.uid();
+    private Produto produto;
+    private Produto outro;
+
+    @BeforeEach
+    void criarProduto() {
+        produto = DadosTeste.produto("Produto do teste de cache de segundo nível");
+        produto.setUsuario(usuario);
+        produto.setTopico(2);
+        produto = produtoRepository.save(produto);
+
+        outro = DadosTeste.produto("Outro produto do teste de cache de segundo nível");
+        outro.setUsuario(usuario);
+        outro.setTopico(2);
+        outro = produtoRepository.save(outro);
+    }
+
+    @AfterEach
+    void limpar() {
+        reservaEstoqueRepository.deleteAll(
+                reservaEstoqueRepository.findByProduto(Math.toIntExact(produto.getProdutoId()), Pageable.unpaged()));
+        produtoRepository.deleteById(produto.getProdutoId());
+        produtoRepository.deleteById(outro.getProdutoId());
+    }
+
+    @Test
+    void saveAtualizaOProdutoEmCache() {
+        Produto carregado = produtoService.findProductsById(produto.getProdutoId());
+        assertTrue(entityManagerFactory.getCache().contains(Produto.class, produto.getProdutoId()));
+
+        carregado.setPreco(new BigDecimal("12.50"));
+        produtoService.saveProducts(carregado);
+
+        assertEquals(0, new BigDecimal("12.50").compareTo(
+                produtoService.findProductsById(produto.getProdutoId()).getPreco()));
+    }
+
+    @Test
+    void baixaDeEstoqueInvalidaSoOProdutoAlterado() {
+        produtoService.findProductsById(produto.getProdutoId());
+        produtoService.findProductsById(outro.getProdutoId());
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Produto.class, outro.getProdutoId()));
+
+        ReservaEstoque reserva = new ReservaEstoque();
+        reserva.setProduto(Math.toIntExact(produto.getProdutoId()));
+        reserva.setUsuario(usuario);
+        reserva.setQuantidade(3);
+        reservaEstoqueService.reserve(reserva);
+
+        assertFalse(cache.contains(Produto.class, produto.getProdutoId()));
+        assertTrue(cache.contains(Produto.class, outro.getProdutoId()));
+        assertEquals(7, produtoService.findProductsById(produto.getProdutoId()).getEstoque());
+    }
+}
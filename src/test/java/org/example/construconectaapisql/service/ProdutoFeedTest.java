@@ -0,0 +1,61 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Produto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// O trilho em memória acompanha os saves e remoções sem esperar a recarga periódica
+@SpringBootTest
+class ProdutoFeedTest {
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoFeed produtoFeed;
+
+    private Produto produto;
+
+    @AfterEach
+    void limpar() {
+        if (produto != null && produto.getProdutoId() != null) {
+            try {
+                produtoService.deleteProduct(produto.getProdutoId());
+            } catch (RuntimeException e) {
+                // Já removido pelo teste
+            }
+        }
+    }
+
+    @Test
+    void ofertaComMaiorDescontoEntraNoTopoERemovidaSai() {
+        ProdutoFeed.Feed antes = produtoFeed.getFeed(2);
+
+        produto = DadosTeste.produto("Produto do teste do feed");
+        produto.setDesconto(BigDecimal.ONE);
+        produto.setTopico(2);
+        produto = produtoService.saveProducts(produto);
+
+        // Desconto máximo e o id mais novo: primeiro da fila de Ofertas
+        ProdutoFeed.Feed depois = produtoFeed.getFeed(2);
+        assertEquals(produto.getProdutoId(), depois.getProdutos().get(0).getProdutoId());
+        assertNotEquals(antes.getEtag(), depois.getEtag());
+
+        // Mudou de tópico: sai de Ofertas e entra em No Topo
+        produto.setTopico(1);
+        produto = produtoService.saveProducts(produto);
+        assertTrue(produtoFeed.getFeed(2).getProdutos().stream()
+                .noneMatch(item -> item.getProdutoId().equals(produto.getProdutoId())));
+        assertEquals(produto.getProdutoId(), produtoFeed.getFeed(1).getProdutos().get(0).getProdutoId());
+
+        produtoService.deleteProduct(produto.getProdutoId());
+        assertTrue(produtoFeed.getFeed(1).getProdutos().stream()
+                .noneMatch(item -> item.getProdutoId().equals(produto.getProdutoId())));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Saves e remoções que chegam enquanto a carga consulta o banco não podem se perder quando o resultado
+// (já desatualizado) da consulta substitui o índice
+class ProdutoNomeIndexTest {
+    private ProdutoNomeIndex indice;
+    private Runnable duranteConsulta = () -> {};
+
+    @Test
+    void alteracoesDuranteACargaSaoReaplicadas() {
+        List<Object[]> nomes = new ArrayList<>();
+        nomes.add(new Object[]{1L, "Martelo de aço"});
+        nomes.add(new Object[]{2L, "Serrote manual"});
+
+        // Repositório falso: só findAllNomes é usado pelo índice
+        ProdutoRepository repositorio = (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(),
+                new Class<?>[]{ProdutoRepository.class},
+                (proxy, metodo, args) -> {
+                    if (!metodo.getName().equals("findAllNomes")) {
+                        return null;
+                    }
+                    List<Object[]> resultado = new ArrayList<>(nomes);
+                    duranteConsulta.run();
+                    return resultado;
+                });
+        indice = new ProdutoNomeIndex(repositorio);
+        indice.carregar();
+        assertEquals(List.of(1L), indice.buscarIds("martelo"));
+
+        // Commits que caem entre a consulta e a troca do índice
+        duranteConsulta = () -> {
+            indice.onProdutoAlterado(new ProdutoAlteradoEvent(produto(1L, "Martelo de aço"), true));
+            indice.onProdutoAlterado(new ProdutoAlteradoEvent(produto(2L, "Serrote elétrico"), false));
+            indice.onProdutoAlterado(new ProdutoAlteradoEvent(produto(3L, "Martelo de borracha"), false));
+        };
+        indice.carregar();
+
+        assertEquals(List.of(3L), indice.buscarIds("martelo"));
+        assertEquals(List.of(2L), indice.buscarIds("eletrico"));
+        assertEquals(List.of(), indice.buscarIds("manual"));
+    }
+
+    private static Produto produto(Long produtoId, String nomeProduto) {
+        Produto produto = new Produto();
+        produto.setProdutoId(produtoId);
+        produto.setNomeProduto(nomeProduto);
+        return produto;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Carrinho;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.repository.CarrinhoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Mudança de preço chega aos carrinhos pelo UPDATE em lotes; lote de 1 linha força várias voltas do keyset.
+// O agendamento fica parado para o teste chamar processarPendentes sem disputar a fila
+@SpringBootTest(properties = {
+        "construconecta.carrinho.recalculo.espera-ms=0",
+        "construconecta.carrinho.recalculo.intervalo-ms=3600000",
+        "construconecta.carrinho.recalculo.lote=1"
+})
+class RecalculoCarrinhoTest {
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CarrinhoService carrinhoService;
+
+    @Autowired
+    private CarrinhoRepository carrinhoRepository;
+
+    @Autowired
+    private RecalculoCarrinho recalculoCarrinho;
+
+    private Produto produto;
+    private final List<Carrinho> carrinhos = new ArrayList<>();
+
+    @AfterEach
+    void limpar() {
+        carrinhoRepository.deleteAll(carrinhos);
+        if (produto != null && produto.getProdutoId() != null) {
+            produtoService.deleteProduct(produto.getProdutoId());
+        }
+    }
+
+    @Test
+    void novoPrecoERecalculadoEmTodosOsCarrinhosDoProduto() {
+        produto = DadosTeste.produto("Produto do teste de recálculo do carrinho");
+        produto = produtoService.saveProducts(produto);
+
+        for (int quantidade = 1; quantidade <= 3; quantidade++) {
+            Carrinho carrinho = new Carrinho();
+            carrinho.setUsuario(DadosTeste.uid());
+            carrinho.setProduto(Math.toIntExact(produto.getProdutoId()));
+            carrinho.setQuantidade(quantidade);
+            carrinhos.add(carrinhoService.saveShoppingCart(carrinho));
+        }
+        // Nada a mudar: o valor gravado já segue o preço atual
+        assertEquals(0, recalculoCarrinho.recalcular(produto.getProdutoId()));
+
+        produto.setPreco(new BigDecimal("20.00"));
+        produto.setDesconto(new BigDecimal("0.25"));
+        produto = produtoService.saveProducts(produto);
+        assertEquals(3, recalculoCarrinho.processarPendentes());
+
+        for (Carrinho carrinho : carrinhoRepository.findByProduto(Math.toIntExact(produto.getProdutoId()), Pageable.unpaged())) {
+            BigDecimal esperado = new BigDecimal("15.00").multiply(new BigDecimal(carrinho.getQuantidade()));
+            assertEquals(0, esperado.compareTo(carrinho.getValorTotal()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.DadosTeste;
+import org.example.construconectaapisql.model.Produto;
+import org.example.construconectaapisql.model.ReservaEstoque;
+import org.example.construconectaapisql.repository.ProdutoRepository;
+import org.example.construconectaapisql.repository.ReservaEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 64 threads disputando o mesmo produto: nenhuma unidade pode ser vendida a mais.
+// A vazão (reservas/s) é medida no teste de carga, cenário "sku-quente".
+@SpringBootTest
+class ReservaEstoqueConcorrenciaTest {
+    private static final int ESTOQUE = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaEstoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final String usuario = DadosTeste.uid();
+    private Produto produto;
+
+    @BeforeEach
+    void criarProduto() {
+        produto = DadosTeste.produto("Produto em oferta do teste de reserva");
+        produto.setEstoque(ESTOQUE);
+        produto.setUsuario(usuario);
+        produto.setTopico(2);
+        produto = produtoRepository.save(produto);
+    }
+
+    @AfterEach
+    void limpar() {
+        reservaEstoqueRepository.deleteAll(
+                reservaEstoqueRepository.findByProduto(Math.toIntExact(produto.getProdutoId()), Pageable.unpaged()));
+        produtoRepository.deleteById(produto.getProdutoId());
+    }
+
+    @Test
+    void reservasConcorrentesNaoVendemAlemDoEstoque() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger reservadas = new AtomicInteger();
+        AtomicInteger recusadas = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                // Cada thread reserva uma unidade por vez até o estoque acabar
+                while (true) {
+                    ReservaEstoque reserva = new ReservaEstoque();
+                    reserva.setProduto(Math.toIntExact(produto.getProdutoId()));
+                    reserva.setUsuario(usuario);
+                    reserva.setQuantidade(1);
+                    try {
+                        reservaEstoqueService.reserve(reserva);
+                        reservadas.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        recusadas.incrementAndGet();
+                        return null;
+                    }
+                }
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(ESTOQUE, reservadas.get());
+        assertEquals(THREADS, recusadas.get());
+        assertEquals(0, produtoRepository.findById(produto.getProdutoId()).orElseThrow().getEstoque());
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.construconectaapisql.service;
+
+import org.example.construconectaapisql.model.Usuario;
+import org.example.construconectaapisql.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Os duplicados são barrados pelos índices únicos e a mensagem aponta todos os campos repetidos
+@SpringBootTest
+class UsuarioUnicidadeTest {
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private final List<String> criados = new ArrayList<>();
+
+    @AfterEach
+    void limpar() {
+        usuarioRepository.deleteAllById(criados);
+    }
+
+    @Test
+    void emailENomeDeUsuarioSemDiferenciarMaiusculas() {
+        Usuario primeiro = salvar(novoUsuario());
+
+        Usuario segundo = novoUsuario();
+        segundo.setEmail(primeiro.getEmail().toUpperCase());
+        segundo.setNomeUsuario(primeiro.getNomeUsuario().toUpperCase());
+
+        DataIntegrityViolationException erro = assertThrows(DataIntegrityViolationException.class,
+                () -> usuarioService.saveUsers(segundo));
+        assertEquals("E-mail já está em uso. Nome de usuário já está em uso.", erro.getMessage());
+        assertFalse(usuarioRepository.existsById(segundo.getUid()));
+    }
+
+    @Test
+    void atualizacaoNaoConflitaComOsProprioDados() {
+        Usuario usuario = salvar(novoUsuario());
+        Usuario outro = salvar(novoUsuario());
+
+        usuario.setNomeCompleto("Nome completo alterado");
+        usuarioService.saveUsers(usuario);
+
+        usuario.setTelefone(outro.getTelefone());
+        DataIntegrityViolationException erro = assertThrows(DataIntegrityViolationException.class,
+                () -> usuarioService.saveUsers(usuario));
+        assertEquals("Telefone já está em uso.", erro.getMessage());
+    }
+
+    private Usuario salvar(Usuario usuario) {
+        Usuario salvo = usuarioService.saveUsers(usuario);
+        criados.add(salvo.getUid());
+        return salvo;
+    }
+
+    private static Usuario novoUsuario() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sufixo = UUID.randomUUID().toString().replace("-", "");
+
+        Usuario usuario = new Usuario();
+        usuario.setUid(sufixo.substring(0, 28));
+        usuario.setNomeCompleto("Usuário do teste de unicidade");
+        usuario.setNomeUsuario("teste." + sufixo.substring(0, 12));
+        usuario.setCpf(cpf(random.nextLong(100_000_000L, 1_000_000_000L)));
+        usuario.setEmail("teste." + sufixo.substring(0, 12) + "@exemplo.com");
+        usuario.setSenha("senha-do-teste");
+        usuario.setTelefone("119" + random.nextLong(10_000_000L, 100_000_000L));
+        usuario.setDataNascimento(LocalDate.of(1990, 5, 20));
+        usuario.setGenero(4);
+        return usuario;
+    }
+
+    // Nove dígitos de base mais os dois dígitos verificadores do CPF
+    private static String cpf(long base) {
+        StringBuilder cpf = new StringBuilder(String.valueOf(base));
+        for (int digito = 0; digito < 2; digito++) {
+            int soma = 0;
+            for (int i = 0; i < cpf.length(); i++) {
+                soma += (cpf.charAt(i) - '0') * (cpf.length() + 1 - i);
+            }
+            int resto = soma % 11;
+            cpf.append(resto < 2 ? 0 : 11 - resto);
+        }
+        return cpf.toString();
+    }
+}